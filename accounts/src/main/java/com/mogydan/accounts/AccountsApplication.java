@@ -1,5 +1,10 @@
 package com.mogydan.accounts;
 
+import com.mogydan.accounts.config.BulkOnboardingProperties;
+import com.mogydan.accounts.config.CommunicationDedupProperties;
+import com.mogydan.accounts.config.CommunicationOutboxProperties;
+import com.mogydan.accounts.config.CommunicationRetryProperties;
+import com.mogydan.accounts.config.CustomerDetailsProperties;
 import com.mogydan.accounts.dto.AccountsContactInfoDto;
 import io.swagger.v3.oas.annotations.ExternalDocumentation;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -9,12 +14,18 @@ import io.swagger.v3.oas.annotations.info.License;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(value = {AccountsContactInfoDto.class})
+@EnableCaching
+@EnableConfigurationProperties(value = {AccountsContactInfoDto.class, CustomerDetailsProperties.class,
+        BulkOnboardingProperties.class, CommunicationOutboxProperties.class, CommunicationDedupProperties.class,
+        CommunicationRetryProperties.class})
 @EnableFeignClients
+@EnableScheduling
 @EnableJpaAuditing(auditorAwareRef = "auditAwareImpl")
 @OpenAPIDefinition(
         info = @Info(
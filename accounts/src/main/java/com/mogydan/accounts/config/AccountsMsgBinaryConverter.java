@@ -0,0 +1,156 @@
+package com.mogydan.accounts.config;
+
+import com.mogydan.accounts.dto.AccountsMsgDto;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact encoding of {@link AccountsMsgDto}, chosen per message through its content type so that JSON and binary
+ * producers and consumers can run side by side. Deploy consumers first, then switch the producer binding's
+ * content type. Layout: a version byte, a varint with a presence bit per field, then the present fields in declaration
+ * order (the account number as a zig-zag varint, strings as a varint length followed by UTF-8). Fields are only ever
+ * appended, so a reader decodes what it knows from any version and ignores the rest; the presence varint leaves room
+ * for 64 fields and reads the same as the single byte it replaced while fewer than 8 are defined.
+ */
+@Component
+public class AccountsMsgBinaryConverter extends AbstractMessageConverter {
+
+    public static final MimeType MIME_TYPE = MimeType.valueOf("application/vnd.accounts-msg+binary");
+
+    private static final byte VERSION = 1;
+    private static final int ACCOUNT_NUMBER = 1;
+    private static final int NAME = 1 << 1;
+    private static final int EMAIL = 1 << 2;
+    private static final int MOBILE_NUMBER = 1 << 3;
+
+    public AccountsMsgBinaryConverter() {
+        super(MIME_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AccountsMsgDto.class.equals(clazz);
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return encode((AccountsMsgDto) payload);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        return message.getPayload() instanceof byte[] bytes ? decode(bytes) : null;
+    }
+
+    static byte[] encode(AccountsMsgDto dto) {
+        byte[] name = utf8(dto.name());
+        byte[] email = utf8(dto.email());
+        byte[] mobileNumber = utf8(dto.mobileNumber());
+        long presence = (dto.accountNumber() != null ? ACCOUNT_NUMBER : 0) | (name != null ? NAME : 0)
+                | (email != null ? EMAIL : 0) | (mobileNumber != null ? MOBILE_NUMBER : 0);
+        long accountNumber = dto.accountNumber() != null ? zigZag(dto.accountNumber()) : 0;
+
+        int size = 1 + varLongSize(presence) + (dto.accountNumber() != null ? varLongSize(accountNumber) : 0)
+                + stringSize(name) + stringSize(email) + stringSize(mobileNumber);
+        byte[] out = new byte[size];
+        out[0] = VERSION;
+        int position = writeVarLong(out, 1, presence);
+        if (dto.accountNumber() != null) {
+            position = writeVarLong(out, position, accountNumber);
+        }
+        position = writeString(out, position, name);
+        position = writeString(out, position, email);
+        writeString(out, position, mobileNumber);
+        return out;
+    }
+
+    /**
+     * @throws MessageConversionException when the payload is not an accounts message or is truncated
+     */
+    static AccountsMsgDto decode(byte[] in) {
+        if (in.length < 2 || (in[0] & 0xFF) < 1) {
+            throw new MessageConversionException("Not an accounts message in the binary format");
+        }
+        int[] position = {1};
+        long presence = readVarLong(in, position);
+        Long accountNumber = (presence & ACCOUNT_NUMBER) != 0 ? unZigZag(readVarLong(in, position)) : null;
+        String name = (presence & NAME) != 0 ? readString(in, position) : null;
+        String email = (presence & EMAIL) != 0 ? readString(in, position) : null;
+        String mobileNumber = (presence & MOBILE_NUMBER) != 0 ? readString(in, position) : null;
+        return new AccountsMsgDto(accountNumber, name, email, mobileNumber);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringSize(byte[] value) {
+        return value != null ? varLongSize(value.length) + value.length : 0;
+    }
+
+    private static int writeString(byte[] out, int position, byte[] value) {
+        if (value == null) {
+            return position;
+        }
+        position = writeVarLong(out, position, value.length);
+        System.arraycopy(value, 0, out, position, value.length);
+        return position + value.length;
+    }
+
+    private static String readString(byte[] in, int[] position) {
+        long length = readVarLong(in, position);
+        if (length < 0 || length > in.length - position[0]) {
+            throw new MessageConversionException("Truncated string of " + length + " bytes in an accounts message");
+        }
+        String value = new String(in, position[0], (int) length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarLong(byte[] out, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarLong(byte[] in, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= in.length) {
+                throw new MessageConversionException("Truncated varint in an accounts message");
+            }
+            byte b = in[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new MessageConversionException("Malformed varint in an accounts message");
+    }
+}
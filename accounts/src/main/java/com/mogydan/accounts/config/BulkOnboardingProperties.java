@@ -0,0 +1,19 @@
+package com.mogydan.accounts.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "bulk-onboarding")
+public class BulkOnboardingProperties {
+
+    /**
+     * Records inserted per JDBC batch and transaction; a failing chunk is retried row by row.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Upper bound on failures listed in the response; the failed count is always exact.
+     */
+    private int maxFailuresReported = 1000;
+}
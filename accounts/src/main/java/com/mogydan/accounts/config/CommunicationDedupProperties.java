@@ -0,0 +1,21 @@
+package com.mogydan.accounts.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "communication-dedup")
+public class CommunicationDedupProperties {
+
+    /**
+     * Most message keys remembered at once; the oldest are forgotten first.
+     */
+    private int maximumSize = 100_000;
+
+    /**
+     * How long a processed message key is remembered; should cover a rebalance plus redelivery.
+     */
+    private Duration window = Duration.ofMinutes(10);
+}
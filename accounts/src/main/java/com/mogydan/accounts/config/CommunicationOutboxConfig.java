@@ -0,0 +1,30 @@
+package com.mogydan.accounts.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class CommunicationOutboxConfig {
+
+    /**
+     * Producer of the outbox relay. Payloads are converted by the relay with the sendCommunication-out-0 content
+     * type, so the template only moves bytes; it has its own producer so the relay's batching settings stay local.
+     */
+    @Bean
+    public KafkaTemplate<byte[], byte[]> communicationKafkaTemplate(ProducerFactory<Object, Object> producerFactory,
+                                                                    CommunicationOutboxProperties properties) {
+        Map<String, Object> overrides = new HashMap<>(properties.getProducer());
+        overrides.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        overrides.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ProducerFactory<byte[], byte[]> bytesProducerFactory = (ProducerFactory) producerFactory;
+        return new KafkaTemplate<>(bytesProducerFactory, overrides);
+    }
+}
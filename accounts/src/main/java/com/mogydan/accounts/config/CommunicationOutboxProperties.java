@@ -0,0 +1,34 @@
+package com.mogydan.accounts.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "communication-outbox")
+public class CommunicationOutboxProperties {
+
+    /**
+     * Outbox rows read, sent and deleted per round trip; the relay keeps draining while batches come back full.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause between two relay runs.
+     */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /**
+     * How long the relay waits for the broker to acknowledge a batch; rows not acknowledged by then are resent on
+     * the next run.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Kafka producer settings of the relay on top of spring.kafka.producer, e.g. linger.ms and batch.size.
+     */
+    private Map<String, String> producer = new HashMap<>();
+}
@@ -0,0 +1,52 @@
+package com.mogydan.accounts.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "communication-retry")
+public class CommunicationRetryProperties {
+
+    /**
+     * Topic acknowledgements are parked on once their retries are used up.
+     */
+    private String dlqDestination = "communication-sent.dlq";
+
+    /**
+     * Retries after the first update attempt before the acknowledgement is dead-lettered.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Retry topics by attempt number; attempts past the last tier stay on it. Each tier needs its own consumer
+     * binding, see spring.cloud.stream.bindings.
+     */
+    private List<Tier> tiers = new ArrayList<>(List.of(
+            new Tier("communication-sent.retry-5s", Duration.ofSeconds(5)),
+            new Tier("communication-sent.retry-30s", Duration.ofSeconds(30)),
+            new Tier("communication-sent.retry-1m", Duration.ofMinutes(1))));
+
+    @Data
+    public static class Tier {
+
+        private String destination;
+
+        /**
+         * Fixed delay of every acknowledgement on this topic. Together with max.poll.records of the tier binding it
+         * has to fit into max.poll.interval.ms.
+         */
+        private Duration delay;
+
+        public Tier() {
+        }
+
+        Tier(String destination, Duration delay) {
+            this.destination = destination;
+            this.delay = delay;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.mogydan.accounts.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool the customer details legs run on, or one virtual thread per leg when virtual threads are enabled.
+ * Deliberately not exposed as an {@link java.util.concurrent.Executor} bean so that Spring Boot keeps its own
+ * application task executor.
+ */
+@Component
+public class CustomerDetailsExecutor implements DisposableBean {
+
+    private final ExecutorService executorService;
+
+    public CustomerDetailsExecutor(CustomerDetailsProperties properties,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executorService = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("customer-details-", 0).factory())
+                : new ThreadPoolExecutor(properties.getPoolSize(), properties.getPoolSize(),
+                        60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                        new CustomizableThreadFactory("customer-details-"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @return a future whose {@code cancel(true)} interrupts the leg if it is still running, unlike a
+     * {@link java.util.concurrent.CompletableFuture}
+     */
+    public <T> Future<T> submit(Supplier<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return executorService.submit(() -> {
+            // CallerRunsPolicy may execute the task on the request thread, so restore rather than clear its MDC
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContextMap(context);
+            try {
+                return task.get();
+            } finally {
+                setContextMap(previous);
+            }
+        });
+    }
+
+    private static void setContextMap(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,25 @@
+package com.mogydan.accounts.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-details")
+public class CustomerDetailsProperties {
+
+    /**
+     * Run the local lookup and the loans/cards calls concurrently instead of one after another.
+     */
+    private boolean parallel = true;
+
+    /**
+     * Overall deadline for one aggregation; remote legs still running when it expires are left out of the response.
+     */
+    private Duration timeout = Duration.ofSeconds(3);
+
+    private int poolSize = 32;
+
+    private int queueCapacity = 256;
+}
@@ -0,0 +1,20 @@
+package com.mogydan.accounts.config;
+
+import com.mogydan.accounts.sequence.NumberAllocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class NumberAllocatorConfig {
+
+    /**
+     * Must match the INCREMENT BY of the sequence created in V3__number_sequences.sql.
+     */
+    public static final int BLOCK_SIZE = 100;
+
+    @Bean
+    public NumberAllocator accountNumberAllocator(JdbcTemplate jdbcTemplate) {
+        return new NumberAllocator(jdbcTemplate, "account_number_seq", BLOCK_SIZE);
+    }
+}
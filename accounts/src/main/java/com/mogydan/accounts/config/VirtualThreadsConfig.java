@@ -0,0 +1,49 @@
+package com.mogydan.accounts.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot runs request handling and {@code @Async} work on virtual threads with
+ * {@code spring.threads.virtual.enabled}; this keeps JDBC from pinning every carrier when it does. Run with
+ * {@code -Djdk.tracePinnedThreads=short} to log every virtual thread that blocks while pinned to its carrier.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    /**
+     * H2 and the JDBC driver synchronize internally, so a virtual thread inside a JDBC call pins its carrier, while a
+     * thread waiting for a pooled connection parks without pinning. Keeping the pool below the carrier parallelism
+     * therefore leaves at least one carrier free for everything else, whatever maximum-pool-size says.
+     */
+    @Bean
+    public static BeanPostProcessor jdbcPinningGuard() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int limit = Math.max(1, carrierParallelism() - 1);
+                    if (dataSource.getMaximumPoolSize() > limit) {
+                        log.info("Limiting the connection pool {} from {} to {} connections below {} carrier threads",
+                                beanName, dataSource.getMaximumPoolSize(), limit, carrierParallelism());
+                        dataSource.setMaximumPoolSize(limit);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * @return the number of carrier threads of the virtual thread scheduler
+     */
+    static int carrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+}
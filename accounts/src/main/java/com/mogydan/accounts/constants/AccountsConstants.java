@@ -13,6 +13,7 @@ public class AccountsConstants {
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
     public static final String CORRELATION_ID = "mogydanbank-correlation-id";
+    public static final String COMMUNICATION_ID_HEADER = "communication-id";
 //    public static final String STATUS_500 = "500";
 //    public static final String MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
 }
@@ -1,10 +1,12 @@
 package com.mogydan.accounts.controller;
 
 import com.mogydan.accounts.dto.AccountsContactInfoDto;
+import com.mogydan.accounts.dto.BulkOnboardingResponseDto;
 import com.mogydan.accounts.dto.CustomerDto;
 import com.mogydan.accounts.dto.ErrorResponseDto;
 import com.mogydan.accounts.dto.ResponseDto;
 import com.mogydan.accounts.service.AccountService;
+import com.mogydan.accounts.service.BulkOnboardingService;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,6 +27,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import static com.mogydan.accounts.constants.AccountsConstants.*;
 import static org.springframework.http.HttpStatus.*;
 
@@ -40,6 +45,7 @@ import static org.springframework.http.HttpStatus.*;
 public class AccountsController {
 
     private final AccountService accountService;
+    private final BulkOnboardingService bulkOnboardingService;
     private final AccountsContactInfoDto accountsContactInfo;
     private final Environment environment;
 
@@ -65,6 +71,27 @@ public class AccountsController {
                 .body(new ResponseDto(STATUS_201, MESSAGE_201));
     }
 
+    @Operation(
+            summary = "Bulk Create Accounts REST API",
+            description = "REST API to create Customers & Accounts from an NDJSON stream with one Customer per line"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK, per-record failures are listed in the body"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    }
+    )
+    @PostMapping(path = "/account/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkOnboardingResponseDto> createAccounts(InputStream ndjson) throws IOException {
+        return ResponseEntity.status(OK)
+                .body(bulkOnboardingService.createAccounts(ndjson));
+    }
+
     @Operation(
             summary = "Fetch Account Details REST API",
             description = "REST API to fetch Customer &  Account details based on a mobile number"
@@ -12,7 +12,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -20,6 +22,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 import static com.mogydan.accounts.constants.AccountsConstants.CORRELATION_ID;
 
@@ -48,4 +53,34 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.OK)
                 .body(customerDetailsDto);
     }
+
+    @Operation(summary = "Fetch Customer Details REST API without blocking", description = "REST API to fetch Customer details based on a mobile number without holding a request thread while loans and cards are called")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "500", description = "HTTP Status Internal Server Error", content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))})
+    @GetMapping("/fetchCustomerDetails-reactive")
+    public Mono<ResponseEntity<CustomerDetailsDto>> fetchCustomerDetailsReactive(@RequestHeader(CORRELATION_ID) String correlationId,
+                                                                                 @RequestParam
+                                                                                 @Pattern(regexp = "(^$|[0-9]{10})", message = "AccountNumber must be 10 digits")
+                                                                                 String mobileNumber) {
+        return customerService.fetchCustomerDetailsReactive(mobileNumber, correlationId)
+                .map(customerDetailsDto -> ResponseEntity.status(HttpStatus.OK).body(customerDetailsDto));
+    }
+
+    @Operation(summary = "Fetch Customer Details in batch REST API", description = "REST API to fetch Customer details of several mobile numbers with a constant number of queries and remote calls")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(responseCode = "500", description = "HTTP Status Internal Server Error", content = @Content(schema = @Schema(implementation = ErrorResponseDto.class)))})
+    @PostMapping("/fetchCustomerDetails-batch")
+    public ResponseEntity<List<CustomerDetailsDto>> fetchCustomerDetailsBatch(@RequestHeader(CORRELATION_ID) String correlationId,
+                                                                              @RequestBody
+                                                                              @NotEmpty(message = "Mobile numbers can not be empty")
+                                                                              @Size(max = 500, message = "At most 500 mobile numbers can be fetched at once")
+                                                                              List<@Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits") String> mobileNumbers) {
+        log.debug("fetchCustomerDetailsBatch method start");
+        List<CustomerDetailsDto> customerDetailsDtos = customerService.fetchCustomerDetailsBatch(mobileNumbers, correlationId);
+        log.debug("fetchCustomerDetailsBatch method end");
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(customerDetailsDtos);
+    }
 }
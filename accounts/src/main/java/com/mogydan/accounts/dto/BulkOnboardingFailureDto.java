@@ -0,0 +1,10 @@
+package com.mogydan.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "BulkOnboardingFailure", description = "Record of the bulk onboarding request that was not created")
+public record BulkOnboardingFailureDto(
+        @Schema(description = "1-based line of the record in the request body") long line,
+        @Schema(description = "Mobile Number of the rejected customer, if it could be read") String mobileNumber,
+        @Schema(description = "Why the record was rejected") String errorMessage) {
+}
@@ -0,0 +1,13 @@
+package com.mogydan.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "BulkOnboardingResponse", description = "Outcome of a bulk onboarding request")
+public record BulkOnboardingResponseDto(
+        @Schema(description = "Records read from the request body") long received,
+        @Schema(description = "Customers and accounts created") long created,
+        @Schema(description = "Records rejected") long failed,
+        @Schema(description = "Rejected records, capped at bulk-onboarding.max-failures-reported") List<BulkOnboardingFailureDto> failures) {
+}
@@ -0,0 +1,8 @@
+package com.mogydan.accounts.dto;
+
+/**
+ * Read-only customer and account row, projected by a single join query without managed entities.
+ */
+public record CustomerAccountView(String name, String email, String mobileNumber,
+                                  Long accountNumber, String accountType, String branchAddress) {
+}
@@ -0,0 +1,4 @@
+package com.mogydan.accounts.dto;
+
+public record CustomerChangedMsgDto(String mobileNumber) {
+}
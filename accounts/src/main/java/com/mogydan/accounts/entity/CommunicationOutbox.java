@@ -0,0 +1,37 @@
+package com.mogydan.accounts.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Communication request written in the same transaction as the account and relayed to the broker afterwards.
+ */
+@Entity
+@Table(name = "communication_outbox")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommunicationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long accountNumber;
+    private String name;
+    private String email;
+    private String mobileNumber;
+    private LocalDateTime createdAt;
+}
@@ -2,9 +2,14 @@ package com.mogydan.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "customer")
+@NaturalIdCache(region = "customer-natural-id")
 @Getter
 @Setter
 @ToString
@@ -12,12 +17,16 @@ import org.hibernate.annotations.GenericGenerator;
 @AllArgsConstructor
 public class Customer extends BaseEntity {
 
+    public static final String ID_SEQUENCE = "customer_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GenericGenerator(name = "native")
-    @GeneratedValue(strategy = GenerationType.AUTO, generator = "native")
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
     private Long customerId;
 
     private String name;
     private String email;
+    @NaturalId(mutable = true)
     private String mobileNumber;
 }
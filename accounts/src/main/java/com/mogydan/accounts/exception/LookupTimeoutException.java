@@ -0,0 +1,14 @@
+package com.mogydan.accounts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+@ResponseStatus(value = HttpStatus.GATEWAY_TIMEOUT)
+public class LookupTimeoutException extends RuntimeException {
+
+    public LookupTimeoutException(String resourceName, Duration timeout) {
+        super(String.format("%s lookup did not complete within %s", resourceName, timeout));
+    }
+}
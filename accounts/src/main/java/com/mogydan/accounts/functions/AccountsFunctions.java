@@ -1,10 +1,23 @@
 package com.mogydan.accounts.functions;
 
+import com.mogydan.accounts.config.CommunicationDedupProperties;
+import com.mogydan.accounts.config.CommunicationRetryProperties;
+import com.mogydan.accounts.constants.AccountsConstants;
+import com.mogydan.accounts.dto.CustomerChangedMsgDto;
 import com.mogydan.accounts.service.AccountService;
+import com.mogydan.accounts.service.impl.CustomerDetailsCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 @Slf4j
@@ -12,10 +25,149 @@ import java.util.function.Consumer;
 public class AccountsFunctions {
 
     @Bean
-    public Consumer<Long> updateCommunication(AccountService accountService) {
-        return accountNumber -> {
-            log.info("Updating Communication status for the account number: {}", accountNumber);
-            accountService.updateCommunicationStatus(accountNumber);
+    DedupStore communicationDedupStore(CommunicationDedupProperties dedupProperties, MeterRegistry meterRegistry) {
+        return new DedupStore("updateCommunication", dedupProperties.getMaximumSize(), dedupProperties.getWindow(),
+                meterRegistry);
+    }
+
+    @Bean
+    RetryRouter communicationRetryRouter(CommunicationRetryProperties retryProperties, StreamBridge streamBridge,
+                                         MeterRegistry meterRegistry) {
+        List<RetryRouter.Tier> tiers = retryProperties.getTiers().stream()
+                .map(tier -> new RetryRouter.Tier(tier.getDestination(), tier.getDelay()))
+                .toList();
+        return new RetryRouter("updateCommunication", tiers, retryProperties.getDlqDestination(),
+                retryProperties.getMaxAttempts(), List.of(AccountsConstants.COMMUNICATION_ID_HEADER),
+                payload -> (Long) payload, streamBridge, meterRegistry);
+    }
+
+    /**
+     * When the bulk update fails, every acknowledgement of the batch is handed to the first retry tier on its own so
+     * the partition keeps moving.
+     */
+    @Bean
+    public Consumer<Message<List<Long>>> updateCommunication(AccountService accountService, DedupStore dedupStore,
+                                                            RetryRouter retryRouter) {
+        return message -> {
+            List<Long> accountNumbers = message.getPayload();
+            List<Long> fresh = new ArrayList<>(accountNumbers.size());
+            List<Map<String, ?>> freshHeaders = new ArrayList<>(accountNumbers.size());
+            List<String> keys = new ArrayList<>(accountNumbers.size());
+            for (int i = 0; i < accountNumbers.size(); i++) {
+                Map<String, ?> recordHeaders = recordHeaders(message.getHeaders(), i);
+                String key = DedupStore.key(accountNumbers.get(i), messageId(message.getHeaders(), recordHeaders, i));
+                if (!dedupStore.isDuplicate(key)) {
+                    fresh.add(accountNumbers.get(i));
+                    freshHeaders.add(recordHeaders);
+                    keys.add(key);
+                }
+            }
+            if (fresh.isEmpty()) {
+                log.debug("Skipping a batch of {} redelivered communication acknowledgements", accountNumbers.size());
+                return;
+            }
+            int updated;
+            try {
+                updated = accountService.updateCommunicationStatus(fresh);
+            } catch (RuntimeException e) {
+                log.warn("Communication status update failed for {} account numbers, routing them to retry",
+                        fresh.size(), e);
+                for (int i = 0; i < fresh.size(); i++) {
+                    retryRouter.route(fresh.get(i), freshHeaders.get(i), e);
+                }
+                return;
+            }
+            keys.forEach(dedupStore::remember);
+            log.info("Updated Communication status for {} of {} account numbers", updated, accountNumbers.size());
+        };
+    }
+
+    /**
+     * Consumers of the retry tiers, one binding each so a short retry never waits behind a long one.
+     */
+    @Bean
+    public Consumer<Message<Long>> updateCommunicationRetry5s(AccountService accountService, DedupStore dedupStore,
+                                                              RetryRouter retryRouter) {
+        return retry(accountService, dedupStore, retryRouter);
+    }
+
+    @Bean
+    public Consumer<Message<Long>> updateCommunicationRetry30s(AccountService accountService, DedupStore dedupStore,
+                                                               RetryRouter retryRouter) {
+        return retry(accountService, dedupStore, retryRouter);
+    }
+
+    @Bean
+    public Consumer<Message<Long>> updateCommunicationRetry1m(AccountService accountService, DedupStore dedupStore,
+                                                              RetryRouter retryRouter) {
+        return retry(accountService, dedupStore, retryRouter);
+    }
+
+    /**
+     * Feeds dead-lettered acknowledgements back to the first retry tier. The binding does not start with the
+     * application; start it through the bindings actuator endpoint once the cause has been fixed.
+     */
+    @Bean
+    public Consumer<Message<Long>> replayCommunicationSentDlq(RetryRouter retryRouter) {
+        return message -> retryRouter.replay(message.getPayload(), message.getHeaders());
+    }
+
+    /**
+     * Reads a retry tier one acknowledgement at a time; each is held until it is due.
+     */
+    private static Consumer<Message<Long>> retry(AccountService accountService, DedupStore dedupStore,
+                                                 RetryRouter retryRouter) {
+        return message -> {
+            retryRouter.awaitDue(message.getHeaders());
+            Object communicationId = message.getHeaders().get(AccountsConstants.COMMUNICATION_ID_HEADER);
+            String key = DedupStore.key(message.getPayload(), communicationId != null ? communicationId
+                    : message.getHeaders().get(KafkaHeaders.RECEIVED_PARTITION) + "@" + message.getHeaders().get(KafkaHeaders.OFFSET));
+            if (dedupStore.isDuplicate(key)) {
+                return;
+            }
+            try {
+                accountService.updateCommunicationStatus(List.of(message.getPayload()));
+            } catch (RuntimeException e) {
+                retryRouter.route(message.getPayload(), message.getHeaders(), e);
+                return;
+            }
+            dedupStore.remember(key);
+            log.info("Updated Communication status for the account number {} on retry", message.getPayload());
+        };
+    }
+
+    private static Map<String, ?> recordHeaders(MessageHeaders headers, int index) {
+        List<?> convertedHeaders = headers.get(KafkaHeaders.BATCH_CONVERTED_HEADERS, List.class);
+        if (convertedHeaders != null && index < convertedHeaders.size()
+                && convertedHeaders.get(index) instanceof Map<?, ?> recordHeaders) {
+            @SuppressWarnings("unchecked")
+            Map<String, ?> typed = (Map<String, ?>) recordHeaders;
+            return typed;
+        }
+        return Map.of();
+    }
+
+    /**
+     * The communication id set by the outbox relay, or the record position for acknowledgements without one.
+     */
+    private static Object messageId(MessageHeaders headers, Map<String, ?> recordHeaders, int index) {
+        Object communicationId = recordHeaders.get(AccountsConstants.COMMUNICATION_ID_HEADER);
+        if (communicationId != null) {
+            return communicationId;
+        }
+        List<?> partitions = headers.get(KafkaHeaders.RECEIVED_PARTITION, List.class);
+        List<?> offsets = headers.get(KafkaHeaders.OFFSET, List.class);
+        if (partitions == null || offsets == null || index >= offsets.size()) {
+            return null;
+        }
+        return partitions.get(index) + "@" + offsets.get(index);
+    }
+
+    @Bean
+    public Consumer<CustomerChangedMsgDto> evictCustomerDetails(CustomerDetailsCache customerDetailsCache) {
+        return customerChangedMsgDto -> {
+            log.info("Customer data changed remotely for the mobile number: {}", customerChangedMsgDto.mobileNumber());
+            customerDetailsCache.evict(customerChangedMsgDto.mobileNumber(), "remote");
         };
     }
 }
@@ -0,0 +1,163 @@
+package com.mogydan.accounts.functions;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Non-blocking retries over fixed-delay tiers. A failed message is republished to the retry topic of the tier its
+ * attempt number falls into, with the time it becomes due, and the main consumer moves on immediately; only the tier
+ * consumer waits for it. Every record on a tier topic has the same delay, so records become due in the order they
+ * were written and a short retry never queues behind a long one. Attempts past the last tier stay on it. Once the
+ * attempts are used up the message is parked on the dead-letter topic, and {@link #replay} feeds it back into the
+ * first tier. Republished messages keep the account number as their key, so they stay on one partition per account;
+ * ordering against newer events of the account is given up while retrying.
+ */
+final class RetryRouter {
+
+    static final String ATTEMPT_HEADER = "retry-attempt";
+    static final String DUE_AT_HEADER = "retry-due-at";
+    static final String ORIGIN_HEADER = "retry-origin";
+    static final String ERROR_HEADER = "retry-last-error";
+
+    private final String origin;
+    private final List<Tier> tiers;
+    private final String dlqDestination;
+    private final int maxAttempts;
+    private final long maxDelay;
+    private final List<String> carriedHeaders;
+    private final Function<Object, Long> accountNumber;
+    private final StreamBridge streamBridge;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    /**
+     * @param tiers - retry topics by attempt: the first retry goes to the first tier, the second to the second one
+     */
+    RetryRouter(String origin, List<Tier> tiers, String dlqDestination, int maxAttempts, List<String> carriedHeaders,
+                Function<Object, Long> accountNumber, StreamBridge streamBridge, MeterRegistry meterRegistry) {
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("At least one retry tier is required for " + origin);
+        }
+        this.origin = origin;
+        this.tiers = List.copyOf(tiers);
+        this.dlqDestination = dlqDestination;
+        this.maxAttempts = maxAttempts;
+        this.maxDelay = tiers.stream().mapToLong(tier -> tier.delay().toMillis()).max().orElseThrow();
+        this.carriedHeaders = carriedHeaders;
+        this.accountNumber = accountNumber;
+        this.streamBridge = streamBridge;
+        this.retried = Counter.builder("messages.retried")
+                .description("Failed messages republished to a retry tier")
+                .tag("consumer", origin)
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("messages.dead.lettered")
+                .description("Messages parked on the dead-letter topic after their last retry")
+                .tag("consumer", origin)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param headers - headers of the failed record; the attempt count and carried headers are read from them
+     */
+    void route(Object payload, Map<String, ?> headers, Throwable failure) {
+        int attempt = (int) longHeader(headers, ATTEMPT_HEADER, 0) + 1;
+        MessageBuilder<Object> retry = copy(payload, headers)
+                .setHeader(ATTEMPT_HEADER, attempt)
+                .setHeader(ERROR_HEADER, String.valueOf(failure));
+        if (attempt > maxAttempts) {
+            send(dlqDestination, retry);
+            deadLettered.increment();
+        } else {
+            Tier tier = tiers.get(Math.min(attempt, tiers.size()) - 1);
+            send(tier.destination(), retry.setHeader(DUE_AT_HEADER, System.currentTimeMillis() + tier.delay().toMillis()));
+            retried.increment();
+        }
+    }
+
+    /**
+     * Sends a dead-lettered message back through the first tier with a fresh set of attempts.
+     */
+    void replay(Object payload, Map<String, ?> headers) {
+        send(tiers.get(0).destination(), copy(payload, headers)
+                .setHeader(ATTEMPT_HEADER, 0)
+                .setHeader(DUE_AT_HEADER, System.currentTimeMillis()));
+    }
+
+    /**
+     * Holds the tier consumer until the message is due. Records behind it on the partition were written later with
+     * the same delay, so they are due no earlier and nothing that is already due waits behind it; a poll takes at most
+     * the tier delay plus the time to process its records. The wait is capped at the longest tier delay so a skewed
+     * clock cannot park a message indefinitely.
+     */
+    void awaitDue(Map<String, ?> headers) {
+        long wait = Math.min(longHeader(headers, DUE_AT_HEADER, 0) - System.currentTimeMillis(), maxDelay);
+        if (wait > 0) {
+            sleep(wait);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a retry to become due", e);
+        }
+    }
+
+    private MessageBuilder<Object> copy(Object payload, Map<String, ?> headers) {
+        MessageBuilder<Object> builder = MessageBuilder.withPayload(payload)
+                .setHeader(KafkaHeaders.KEY, String.valueOf(accountNumber.apply(payload)).getBytes(StandardCharsets.UTF_8))
+                .setHeader(ORIGIN_HEADER, origin);
+        for (String header : carriedHeaders) {
+            Object value = headers.get(header);
+            if (value != null) {
+                builder.setHeader(header, value);
+            }
+        }
+        return builder;
+    }
+
+    private void send(String destination, MessageBuilder<Object> message) {
+        if (!streamBridge.send(destination, message.build())) {
+            throw new IllegalStateException("Could not hand the failed message over to " + destination);
+        }
+    }
+
+    static String stringHeader(Map<String, ?> headers, String name) {
+        Object value = headers.get(name);
+        if (value instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    static long longHeader(Map<String, ?> headers, String name, long defaultValue) {
+        Object value = headers.get(name);
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        String text = stringHeader(headers, name);
+        try {
+            return text != null ? Long.parseLong(text.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * One retry topic and the fixed delay of every record on it.
+     */
+    record Tier(String destination, Duration delay) {
+    }
+}
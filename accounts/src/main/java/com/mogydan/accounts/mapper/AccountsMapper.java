@@ -1,6 +1,7 @@
 package com.mogydan.accounts.mapper;
 
 import com.mogydan.accounts.dto.AccountsDto;
+import com.mogydan.accounts.dto.CustomerAccountView;
 import com.mogydan.accounts.dto.CustomerDetailsDto;
 import com.mogydan.accounts.entity.Accounts;
 
@@ -13,6 +14,13 @@ public class AccountsMapper {
         return accountsDto;
     }
 
+    public static AccountsDto mapToAccountsDto(CustomerAccountView view, AccountsDto accountsDto) {
+        accountsDto.setAccountNumber(view.accountNumber());
+        accountsDto.setAccountType(view.accountType());
+        accountsDto.setBranchAddress(view.branchAddress());
+        return accountsDto;
+    }
+
     public static Accounts mapToAccounts(AccountsDto accountsDto, Accounts accounts) {
         accounts.setAccountNumber(accountsDto.getAccountNumber());
         accounts.setAccountType(accountsDto.getAccountType());
@@ -1,5 +1,7 @@
 package com.mogydan.accounts.mapper;
 
+import com.mogydan.accounts.dto.AccountsDto;
+import com.mogydan.accounts.dto.CustomerAccountView;
 import com.mogydan.accounts.dto.CustomerDetailsDto;
 import com.mogydan.accounts.dto.CustomerDto;
 import com.mogydan.accounts.entity.Customer;
@@ -28,4 +30,20 @@ public class CustomerMapper {
         customerDetailsDto.setMobileNumber(customer.getMobileNumber());
         return customerDetailsDto;
     }
+
+    public static CustomerDto mapToCustomerDto(CustomerAccountView view, CustomerDto customerDto) {
+        customerDto.setName(view.name());
+        customerDto.setEmail(view.email());
+        customerDto.setMobileNumber(view.mobileNumber());
+        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(view, new AccountsDto()));
+        return customerDto;
+    }
+
+    public static CustomerDetailsDto mapToCustomerDetailsDto(CustomerAccountView view, CustomerDetailsDto customerDetailsDto) {
+        customerDetailsDto.setName(view.name());
+        customerDetailsDto.setEmail(view.email());
+        customerDetailsDto.setMobileNumber(view.mobileNumber());
+        customerDetailsDto.setAccountsDto(AccountsMapper.mapToAccountsDto(view, new AccountsDto()));
+        return customerDetailsDto;
+    }
 }
@@ -4,8 +4,13 @@ import com.mogydan.accounts.entity.Accounts;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +21,12 @@ public interface AccountsRepository extends JpaRepository<Accounts, Long> {
     @Modifying
     @Transactional
     void deleteByCustomerId(Long customerId);
+
+    @Modifying
+    @Transactional
+    @Query("update Accounts a set a.communicationSw = true, a.updatedAt = :updatedAt, a.updatedBy = :updatedBy "
+            + "where a.accountNumber in :accountNumbers")
+    int markCommunicationSent(@Param("accountNumbers") Collection<Long> accountNumbers,
+                              @Param("updatedAt") LocalDateTime updatedAt,
+                              @Param("updatedBy") String updatedBy);
 }
@@ -0,0 +1,14 @@
+package com.mogydan.accounts.repository;
+
+import com.mogydan.accounts.entity.CommunicationOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CommunicationOutboxRepository extends JpaRepository<CommunicationOutbox, Long> {
+
+    List<CommunicationOutbox> findByOrderByIdAsc(Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.mogydan.accounts.repository;
+
+import com.mogydan.accounts.entity.Customer;
+
+import java.util.Optional;
+
+public interface CustomerNaturalIdRepository {
+
+    /**
+     * Resolves through the natural id and entity cache regions before falling back to the database
+     * @param mobileNumber - Mobile Number of the Customer
+     */
+    Optional<Customer> findByMobileNumber(String mobileNumber);
+
+}
@@ -1,12 +1,28 @@
 package com.mogydan.accounts.repository;
 
+import com.mogydan.accounts.dto.CustomerAccountView;
 import com.mogydan.accounts.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    Optional<Customer> findByMobileNumber(String mobileNumber);
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerNaturalIdRepository {
+
+    @Query("select new com.mogydan.accounts.dto.CustomerAccountView(c.name, c.email, c.mobileNumber, "
+            + "a.accountNumber, a.accountType, a.branchAddress) "
+            + "from Customer c join Accounts a on a.customerId = c.customerId "
+            + "where c.mobileNumber = :mobileNumber")
+    Optional<CustomerAccountView> findCustomerAccountView(@Param("mobileNumber") String mobileNumber);
+
+    @Query("select new com.mogydan.accounts.dto.CustomerAccountView(c.name, c.email, c.mobileNumber, "
+            + "a.accountNumber, a.accountType, a.branchAddress) "
+            + "from Customer c join Accounts a on a.customerId = c.customerId "
+            + "where c.mobileNumber in :mobileNumbers")
+    List<CustomerAccountView> findCustomerAccountViews(@Param("mobileNumbers") Collection<String> mobileNumbers);
 }
@@ -2,6 +2,8 @@ package com.mogydan.accounts.service;
 
 import com.mogydan.accounts.dto.CustomerDto;
 
+import java.util.List;
+
 public interface AccountService {
 
     void createAccount(CustomerDto customerDto);
@@ -12,5 +14,9 @@ public interface AccountService {
 
     boolean deleteAccount(String mobileNumber);
 
-    boolean updateCommunicationStatus(Long accountNumber);
+    /**
+     * Marks every given account as communicated with one bulk update
+     * @return number of accounts updated
+     */
+    int updateCommunicationStatus(List<Long> accountNumbers);
 }
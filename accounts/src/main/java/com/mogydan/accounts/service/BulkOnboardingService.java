@@ -0,0 +1,15 @@
+package com.mogydan.accounts.service;
+
+import com.mogydan.accounts.dto.BulkOnboardingResponseDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BulkOnboardingService {
+
+    /**
+     * @param ndjson - one CustomerDto JSON document per line
+     * @return counts of created and rejected records, with the reason for each rejection
+     */
+    BulkOnboardingResponseDto createAccounts(InputStream ndjson) throws IOException;
+}
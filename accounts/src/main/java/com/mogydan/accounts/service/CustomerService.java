@@ -1,8 +1,15 @@
 package com.mogydan.accounts.service;
 
 import com.mogydan.accounts.dto.CustomerDetailsDto;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 public interface CustomerService {
 
     CustomerDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId);
+
+    Mono<CustomerDetailsDto> fetchCustomerDetailsReactive(String mobileNumber, String correlationId);
+
+    List<CustomerDetailsDto> fetchCustomerDetailsBatch(List<String> mobileNumbers, String correlationId);
 }
@@ -1,16 +1,34 @@
 package com.mogydan.accounts.service.client;
 
 import com.mogydan.accounts.dto.CardsDto;
-import com.mogydan.accounts.dto.LoansDto;
+import feign.FeignException;
+import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
+/**
+ * A customer without a card is a normal state: the cards service answers 404 and the fallback returns an empty 404
+ * response. Any other failure returns null, which marks the customer details as partial.
+ */
 @Component
-public class CardsFallback implements CardsFeignClient {
+public class CardsFallback implements FallbackFactory<CardsFeignClient> {
 
     @Override
-    public ResponseEntity<CardsDto> fetchCardDetails(String correlationId, String mobileNumber) {
-        return null;
+    public CardsFeignClient create(Throwable cause) {
+        boolean notFound = cause instanceof FeignException.NotFound;
+        return new CardsFeignClient() {
+
+            @Override
+            public ResponseEntity<CardsDto> fetchCardDetails(String correlationId, String mobileNumber) {
+                return notFound ? ResponseEntity.notFound().build() : null;
+            }
+
+            @Override
+            public ResponseEntity<List<CardsDto>> fetchCardDetailsBatch(String correlationId, List<String> mobileNumbers) {
+                return null;
+            }
+        };
     }
 }
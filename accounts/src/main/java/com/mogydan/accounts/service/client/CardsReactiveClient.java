@@ -0,0 +1,51 @@
+package com.mogydan.accounts.service.client;
+
+import com.mogydan.accounts.dto.CardsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import static com.mogydan.accounts.constants.AccountsConstants.CORRELATION_ID;
+
+/**
+ * Non-blocking counterpart of {@link CardsFeignClient}. It runs under the Feign client's circuit breaker name and
+ * answers like {@link CardsFallback}: an empty response entity when the cards service has no card for the customer,
+ * and no response at all when the service cannot be reached.
+ */
+@Slf4j
+@Component
+public class CardsReactiveClient {
+
+    // Name Spring Cloud OpenFeign gives the circuit breaker of CardsFeignClient#fetchCardDetails
+    private static final String CIRCUIT_BREAKER = "CardsFeignClient#fetchCardDetails(String,String)";
+
+    private final WebClient webClient;
+    private final ReactiveCircuitBreaker circuitBreaker;
+
+    public CardsReactiveClient(@LoadBalanced WebClient.Builder webClientBuilder,
+                               ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory) {
+        this.webClient = webClientBuilder.baseUrl("http://cards").build();
+        this.circuitBreaker = circuitBreakerFactory.create(CIRCUIT_BREAKER);
+    }
+
+    public Mono<ResponseEntity<CardsDto>> fetchCardDetails(String correlationId, String mobileNumber) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/fetch").queryParam("mobileNumber", mobileNumber).build())
+                .header(CORRELATION_ID, correlationId)
+                .retrieve()
+                .toEntity(CardsDto.class)
+                // No card is an answer, not a failure, so it must not count against the circuit breaker
+                .onErrorResume(WebClientResponseException.NotFound.class,
+                        notFound -> Mono.just(ResponseEntity.notFound().build()))
+                .transform(call -> circuitBreaker.run(call, throwable -> {
+                    log.warn("Fetching card details failed, falling back to no card details", throwable);
+                    return Mono.empty();
+                }));
+    }
+}
@@ -1,14 +1,34 @@
 package com.mogydan.accounts.service.client;
 
 import com.mogydan.accounts.dto.LoansDto;
+import feign.FeignException;
+import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
+/**
+ * A customer without a loan is a normal state: the loans service answers 404 and the fallback returns an empty 404
+ * response. Any other failure returns null, which marks the customer details as partial.
+ */
 @Component
-public class LoansFallback implements LoansFeignClient {
+public class LoansFallback implements FallbackFactory<LoansFeignClient> {
 
     @Override
-    public ResponseEntity<LoansDto> fetchLoanDetails(String correlationId, String mobileNumber) {
-        return null;
+    public LoansFeignClient create(Throwable cause) {
+        boolean notFound = cause instanceof FeignException.NotFound;
+        return new LoansFeignClient() {
+
+            @Override
+            public ResponseEntity<LoansDto> fetchLoanDetails(String correlationId, String mobileNumber) {
+                return notFound ? ResponseEntity.notFound().build() : null;
+            }
+
+            @Override
+            public ResponseEntity<List<LoansDto>> fetchLoanDetailsBatch(String correlationId, List<String> mobileNumbers) {
+                return null;
+            }
+        };
     }
 }
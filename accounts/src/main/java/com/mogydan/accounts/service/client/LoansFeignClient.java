@@ -4,15 +4,23 @@ import com.mogydan.accounts.dto.LoansDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 import static com.mogydan.accounts.constants.AccountsConstants.CORRELATION_ID;
 
-@FeignClient(name = "loans", fallback = LoansFallback.class)
+@FeignClient(name = "loans", fallbackFactory = LoansFallback.class)
 public interface LoansFeignClient {
 
     @GetMapping(value = "/api/fetch", consumes = "application/json")
     public ResponseEntity<LoansDto> fetchLoanDetails(@RequestHeader(CORRELATION_ID) String correlationId,
                                                      @RequestParam String mobileNumber);
+
+    @PostMapping(value = "/api/fetch-batch", consumes = "application/json")
+    public ResponseEntity<List<LoansDto>> fetchLoanDetailsBatch(@RequestHeader(CORRELATION_ID) String correlationId,
+                                                                @RequestBody List<String> mobileNumbers);
 }
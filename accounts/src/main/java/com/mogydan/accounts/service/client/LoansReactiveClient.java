@@ -0,0 +1,51 @@
+package com.mogydan.accounts.service.client;
+
+import com.mogydan.accounts.dto.LoansDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import static com.mogydan.accounts.constants.AccountsConstants.CORRELATION_ID;
+
+/**
+ * Non-blocking counterpart of {@link LoansFeignClient}. It runs under the Feign client's circuit breaker name and
+ * answers like {@link LoansFallback}: an empty response entity when the loans service has no loan for the customer,
+ * and no response at all when the service cannot be reached.
+ */
+@Slf4j
+@Component
+public class LoansReactiveClient {
+
+    // Name Spring Cloud OpenFeign gives the circuit breaker of LoansFeignClient#fetchLoanDetails
+    private static final String CIRCUIT_BREAKER = "LoansFeignClient#fetchLoanDetails(String,String)";
+
+    private final WebClient webClient;
+    private final ReactiveCircuitBreaker circuitBreaker;
+
+    public LoansReactiveClient(@LoadBalanced WebClient.Builder webClientBuilder,
+                               ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory) {
+        this.webClient = webClientBuilder.baseUrl("http://loans").build();
+        this.circuitBreaker = circuitBreakerFactory.create(CIRCUIT_BREAKER);
+    }
+
+    public Mono<ResponseEntity<LoansDto>> fetchLoanDetails(String correlationId, String mobileNumber) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/fetch").queryParam("mobileNumber", mobileNumber).build())
+                .header(CORRELATION_ID, correlationId)
+                .retrieve()
+                .toEntity(LoansDto.class)
+                // No loan is an answer, not a failure, so it must not count against the circuit breaker
+                .onErrorResume(WebClientResponseException.NotFound.class,
+                        notFound -> Mono.just(ResponseEntity.notFound().build()))
+                .transform(call -> circuitBreaker.run(call, throwable -> {
+                    log.warn("Fetching loan details failed, falling back to no loan details", throwable);
+                    return Mono.empty();
+                }));
+    }
+}
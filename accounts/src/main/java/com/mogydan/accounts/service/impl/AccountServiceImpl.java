@@ -2,68 +2,76 @@ package com.mogydan.accounts.service.impl;
 
 import com.mogydan.accounts.constants.AccountsConstants;
 import com.mogydan.accounts.dto.AccountsDto;
-import com.mogydan.accounts.dto.AccountsMsgDto;
+import com.mogydan.accounts.dto.CustomerAccountView;
 import com.mogydan.accounts.dto.CustomerDto;
 import com.mogydan.accounts.entity.Accounts;
+import com.mogydan.accounts.entity.CommunicationOutbox;
 import com.mogydan.accounts.entity.Customer;
 import com.mogydan.accounts.exception.CustomerAlreadyExistsException;
 import com.mogydan.accounts.exception.ResourceNotFoundException;
 import com.mogydan.accounts.mapper.AccountsMapper;
 import com.mogydan.accounts.mapper.CustomerMapper;
 import com.mogydan.accounts.repository.AccountsRepository;
+import com.mogydan.accounts.repository.CommunicationOutboxRepository;
 import com.mogydan.accounts.repository.CustomerRepository;
+import com.mogydan.accounts.sequence.NumberAllocator;
 import com.mogydan.accounts.service.AccountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.stream.function.StreamBridge;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.Random;
+import java.util.List;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
 
+    private static final String CACHE_SOURCE = "accounts";
+    private static final String MOBILE_NUMBER_KEY = "ux_customer_mobile_number";
+
     private final AccountsRepository accountsRepository;
     private final CustomerRepository customerRepository;
-    private final StreamBridge streamBridge;
+    private final CommunicationOutboxRepository communicationOutboxRepository;
+    private final CustomerDetailsCache customerDetailsCache;
+    private final NumberAllocator accountNumberAllocator;
+    private final AuditorAware<String> auditorAware;
 
     @Override
+    @Transactional
     public void createAccount(CustomerDto customerDto) {
         Customer customer = CustomerMapper.mapToCustomer(customerDto, new Customer());
-        Optional<Customer> customerWithTheSamePhoneNumber =
-                customerRepository.findByMobileNumber(customerDto.getMobileNumber());
-
-        if (customerWithTheSamePhoneNumber.isPresent())
+        Customer savedCustomer;
+        try {
+            savedCustomer = customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException e) {
+            if (!isViolationOf(e, MOBILE_NUMBER_KEY)) {
+                throw e;
+            }
             throw new CustomerAlreadyExistsException("Customer already registered with given mobileNumber "
                     + customerDto.getMobileNumber());
-        Customer savedCustomer = customerRepository.save(customer);
+        }
         Accounts savedAccount = accountsRepository.save(createNewAccount(savedCustomer));
-        sendCommunication(savedAccount, savedCustomer);
+        queueCommunication(savedAccount, savedCustomer);
     }
 
-    private void sendCommunication(Accounts account, Customer customer) {
-        var accountsMsgDto =
-                new AccountsMsgDto(account.getAccountNumber(), customer.getName(), customer.getEmail(), customer.getMobileNumber());
-        log.info("Sending Communication request for the details: {}", accountsMsgDto);
-        var result = streamBridge.send("sendCommunication-out-0", accountsMsgDto);
-        log.info("Is the Communication request successfully triggered? : {}", result);
+    private void queueCommunication(Accounts account, Customer customer) {
+        CommunicationOutbox outbox = new CommunicationOutbox(null, account.getAccountNumber(), customer.getName(),
+                customer.getEmail(), customer.getMobileNumber(), LocalDateTime.now());
+        communicationOutboxRepository.save(outbox);
+        log.info("Queued Communication request {} for the account number: {}", outbox.getId(), account.getAccountNumber());
     }
 
     @Override
     public CustomerDto getAccountDetails(String mobileNumber) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber)
+        CustomerAccountView view = customerRepository.findCustomerAccountView(mobileNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
-
-        Accounts account = accountsRepository.findByCustomerId(customer.getCustomerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Accounts", "customerId", customer.getCustomerId().toString()));
-
-        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
-        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(account, new AccountsDto()));
-        return customerDto;
+        return CustomerMapper.mapToCustomerDto(view, new CustomerDto());
     }
 
     @Override
@@ -81,8 +89,13 @@ public class AccountServiceImpl implements AccountService {
             Customer customer = customerRepository.findById(customerId).orElseThrow(
                     () -> new ResourceNotFoundException("Customer", "CustomerId", customerId.toString())
             );
+            String previousMobileNumber = customer.getMobileNumber();
             CustomerMapper.mapToCustomer(customerDto, customer);
             customerRepository.save(customer);
+            customerDetailsCache.evict(previousMobileNumber, CACHE_SOURCE);
+            if (!previousMobileNumber.equals(customer.getMobileNumber())) {
+                customerDetailsCache.evict(customer.getMobileNumber(), CACHE_SOURCE);
+            }
             isUpdated = true;
         }
         return isUpdated;
@@ -94,28 +107,29 @@ public class AccountServiceImpl implements AccountService {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
         accountsRepository.deleteByCustomerId(customer.getCustomerId());
         customerRepository.deleteById(customer.getCustomerId());
+        customerDetailsCache.evict(mobileNumber, CACHE_SOURCE);
         return true;
     }
 
     @Override
-    public boolean updateCommunicationStatus(Long accountNumber) {
-        boolean isUpdated = false;
-        if (accountNumber != null) {
-            Accounts account = accountsRepository.findById(accountNumber).orElseThrow(
-                    () -> new ResourceNotFoundException("Account", "AccountNumber", accountNumber.toString()));
-            account.setCommunicationSw(true);
-            accountsRepository.save(account);
-            isUpdated = true;
+    public int updateCommunicationStatus(List<Long> accountNumbers) {
+        if (accountNumbers.isEmpty()) {
+            return 0;
         }
-        return isUpdated;
+        return accountsRepository.markCommunicationSent(accountNumbers, LocalDateTime.now(),
+                auditorAware.getCurrentAuditor().orElse(null));
+    }
+
+    private static boolean isViolationOf(DataIntegrityViolationException e, String constraint) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(constraint);
     }
 
     private Accounts createNewAccount(Customer customer) {
         Accounts newAccount = new Accounts();
         newAccount.setCustomerId(customer.getCustomerId());
-        long randomAccNumber = 1000000000L + new Random().nextInt(900000000);
-
-        newAccount.setAccountNumber(randomAccNumber);
+        newAccount.setAccountNumber(accountNumberAllocator.next());
         newAccount.setAccountType(AccountsConstants.SAVINGS);
         newAccount.setBranchAddress(AccountsConstants.ADDRESS);
         return newAccount;
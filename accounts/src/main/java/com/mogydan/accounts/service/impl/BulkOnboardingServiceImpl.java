@@ -0,0 +1,288 @@
+package com.mogydan.accounts.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mogydan.accounts.config.BulkOnboardingProperties;
+import com.mogydan.accounts.constants.AccountsConstants;
+import com.mogydan.accounts.dto.BulkOnboardingFailureDto;
+import com.mogydan.accounts.dto.BulkOnboardingResponseDto;
+import com.mogydan.accounts.dto.CustomerDto;
+import com.mogydan.accounts.entity.Customer;
+import com.mogydan.accounts.sequence.NumberAllocator;
+import com.mogydan.accounts.service.BulkOnboardingService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Onboards customers from an NDJSON stream in chunks: each chunk is two JDBC batch inserts in one transaction,
+ * with customer ids taken from the same pooled-lo sequence Hibernate uses. A chunk that hits a constraint
+ * violation is replayed row by row so that only the offending records are rejected. Communication requests are
+ * written to the outbox inside the same transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkOnboardingServiceImpl implements BulkOnboardingService {
+
+    private static final String INSERT_CUSTOMER_SQL = "insert into customer "
+            + "(customer_id, name, email, mobile_number, created_at, created_by) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACCOUNT_SQL = "insert into accounts "
+            + "(account_number, customer_id, account_type, branch_address, created_at, created_by) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_OUTBOX_SQL = "insert into communication_outbox "
+            + "(account_number, name, email, mobile_number, created_at) values (?, ?, ?, ?, ?)";
+    private static final String NEXT_CUSTOMER_ID_POOL_SQL = "select next value for " + Customer.ID_SEQUENCE;
+    private static final String MOBILE_NUMBER_KEY = "ux_customer_mobile_number";
+    private static final String ACCOUNT_CUSTOMER_KEY = "ux_accounts_customer_id";
+    /**
+     * Fixed client messages by constraint name; the driver's own text names tables and columns and is only logged
+     */
+    private static final Map<String, String> CONSTRAINT_MESSAGES = Map.of(
+            MOBILE_NUMBER_KEY, "Customer already registered with given mobileNumber",
+            ACCOUNT_CUSTOMER_KEY, "Account already exists for the customer");
+    private static final String STORE_FAILED_MESSAGE = "Record could not be stored";
+    /**
+     * The leading, optionally quoted and schema-qualified identifier of what the dialect extracts, which for H2 is
+     * the rest of the message after "violation: "
+     */
+    private static final Pattern CONSTRAINT_NAME = Pattern.compile("^\"?(?:[\\w$]+\\.)*([\\w$]+)");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NumberAllocator accountNumberAllocator;
+    private final AuditorAware<String> auditorAware;
+    private final BulkOnboardingProperties bulkOnboardingProperties;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public BulkOnboardingResponseDto createAccounts(InputStream ndjson) throws IOException {
+        ObjectReader customerReader = objectMapper.readerFor(CustomerDto.class);
+        Outcome outcome = new Outcome(bulkOnboardingProperties.getMaxFailuresReported());
+        Set<String> mobileNumbers = new HashSet<>();
+        List<PendingCustomer> chunk = new ArrayList<>(bulkOnboardingProperties.getChunkSize());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                outcome.received++;
+                CustomerDto customerDto;
+                try {
+                    customerDto = customerReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    outcome.fail(lineNumber, null, "Malformed customer record: " + e.getOriginalMessage());
+                    continue;
+                }
+                String violations = validate(customerDto);
+                if (violations != null) {
+                    outcome.fail(lineNumber, customerDto.getMobileNumber(), violations);
+                } else if (!mobileNumbers.add(customerDto.getMobileNumber())) {
+                    outcome.fail(lineNumber, customerDto.getMobileNumber(), "Duplicate mobileNumber within the request");
+                } else {
+                    chunk.add(new PendingCustomer(lineNumber, customerDto));
+                    if (chunk.size() == bulkOnboardingProperties.getChunkSize()) {
+                        insertChunk(chunk, outcome);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, outcome);
+        }
+        log.info("Bulk onboarding finished: {} received, {} created, {} failed",
+                outcome.received, outcome.created, outcome.failed);
+        return new BulkOnboardingResponseDto(outcome.received, outcome.created, outcome.failed, outcome.failures);
+    }
+
+    private String validate(CustomerDto customerDto) {
+        Set<ConstraintViolation<CustomerDto>> violations = validator.validate(customerDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void insertChunk(List<PendingCustomer> chunk, Outcome outcome) {
+        long[] customerIds = reserveCustomerIds(chunk.size());
+        List<NewCustomer> rows = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            PendingCustomer pending = chunk.get(i);
+            rows.add(new NewCustomer(pending.line(), pending.customerDto(), customerIds[i], accountNumberAllocator.next()));
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        String createdBy = auditorAware.getCurrentAuditor().orElse(null);
+
+        List<NewCustomer> created;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_CUSTOMER_SQL, rows, rows.size(),
+                        (ps, row) -> setCustomerValues(ps, row, createdAt, createdBy));
+                jdbcTemplate.batchUpdate(INSERT_ACCOUNT_SQL, rows, rows.size(),
+                        (ps, row) -> setAccountValues(ps, row, createdAt, createdBy));
+                jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, rows, rows.size(),
+                        (ps, row) -> setOutboxValues(ps, row, createdAt));
+            });
+            created = rows;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Chunk of {} customers rejected as a batch, retrying row by row", rows.size(), e);
+            created = insertRowByRow(rows, createdAt, createdBy, outcome);
+        }
+        outcome.created += created.size();
+    }
+
+    private List<NewCustomer> insertRowByRow(List<NewCustomer> rows, Timestamp createdAt, String createdBy, Outcome outcome) {
+        List<NewCustomer> created = new ArrayList<>(rows.size());
+        for (NewCustomer row : rows) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update(INSERT_CUSTOMER_SQL, ps -> setCustomerValues(ps, row, createdAt, createdBy));
+                    jdbcTemplate.update(INSERT_ACCOUNT_SQL, ps -> setAccountValues(ps, row, createdAt, createdBy));
+                    jdbcTemplate.update(INSERT_OUTBOX_SQL, ps -> setOutboxValues(ps, row, createdAt));
+                });
+                created.add(row);
+            } catch (DataIntegrityViolationException e) {
+                String mobileNumber = row.customerDto().getMobileNumber();
+                String constraintName = constraintName(e);
+                String message = CONSTRAINT_MESSAGES.get(constraintName);
+                if (message == null) {
+                    log.warn("Customer on line {} could not be stored", row.line(), e);
+                    outcome.fail(row.line(), mobileNumber, STORE_FAILED_MESSAGE);
+                } else {
+                    log.debug("Customer on line {} rejected: {}", row.line(), e.getMostSpecificCause().getMessage());
+                    outcome.fail(row.line(), mobileNumber,
+                            MOBILE_NUMBER_KEY.equals(constraintName) ? message + " " + mobileNumber : message);
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Reads the violated constraint the same way Hibernate does for repository writes, through the dialect, without
+     * the schema prefix H2 puts in front of index names
+     * @return the lower-case constraint name, or null when the driver does not report one
+     */
+    private String constraintName(DataIntegrityViolationException e) {
+        if (!(e.getMostSpecificCause() instanceof SQLException sqlException)) {
+            return null;
+        }
+        String constraintName = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect().getViolatedConstraintNameExtractor().extractConstraintName(sqlException);
+        if (constraintName == null) {
+            return null;
+        }
+        Matcher matcher = CONSTRAINT_NAME.matcher(constraintName.strip());
+        return matcher.find() ? matcher.group(1).toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Every sequence value is the low end of a pool of {@link Customer#ID_ALLOCATION_SIZE} ids, exactly as the
+     * pooled-lo optimizer reads it, so ids reserved here never overlap with ids Hibernate hands out.
+     */
+    private long[] reserveCustomerIds(int count) {
+        long[] customerIds = new long[count];
+        int assigned = 0;
+        while (assigned < count) {
+            Long low = jdbcTemplate.queryForObject(NEXT_CUSTOMER_ID_POOL_SQL, Long.class);
+            if (low == null) {
+                throw new IllegalStateException("Sequence returned no value for " + NEXT_CUSTOMER_ID_POOL_SQL);
+            }
+            for (int offset = 0; offset < Customer.ID_ALLOCATION_SIZE && assigned < count; offset++) {
+                customerIds[assigned++] = low + offset;
+            }
+        }
+        return customerIds;
+    }
+
+    private static void setCustomerValues(PreparedStatement ps, NewCustomer row, Timestamp createdAt, String createdBy)
+            throws SQLException {
+        ps.setLong(1, row.customerId());
+        ps.setString(2, row.customerDto().getName());
+        ps.setString(3, row.customerDto().getEmail());
+        ps.setString(4, row.customerDto().getMobileNumber());
+        ps.setTimestamp(5, createdAt);
+        ps.setString(6, createdBy);
+    }
+
+    private static void setAccountValues(PreparedStatement ps, NewCustomer row, Timestamp createdAt, String createdBy)
+            throws SQLException {
+        ps.setLong(1, row.accountNumber());
+        ps.setLong(2, row.customerId());
+        ps.setString(3, AccountsConstants.SAVINGS);
+        ps.setString(4, AccountsConstants.ADDRESS);
+        ps.setTimestamp(5, createdAt);
+        ps.setString(6, createdBy);
+    }
+
+    private static void setOutboxValues(PreparedStatement ps, NewCustomer row, Timestamp createdAt) throws SQLException {
+        ps.setLong(1, row.accountNumber());
+        ps.setString(2, row.customerDto().getName());
+        ps.setString(3, row.customerDto().getEmail());
+        ps.setString(4, row.customerDto().getMobileNumber());
+        ps.setTimestamp(5, createdAt);
+    }
+
+    private record PendingCustomer(long line, CustomerDto customerDto) {
+    }
+
+    private record NewCustomer(long line, CustomerDto customerDto, long customerId, long accountNumber) {
+    }
+
+    private static final class Outcome {
+
+        private final int maxFailuresReported;
+        private final List<BulkOnboardingFailureDto> failures = new ArrayList<>();
+        private long received;
+        private long created;
+        private long failed;
+
+        private Outcome(int maxFailuresReported) {
+            this.maxFailuresReported = maxFailuresReported;
+        }
+
+        private void fail(long line, String mobileNumber, String errorMessage) {
+            failed++;
+            if (failures.size() < maxFailuresReported) {
+                failures.add(new BulkOnboardingFailureDto(line, mobileNumber, errorMessage));
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.mogydan.accounts.service.impl;
+
+import com.mogydan.accounts.config.CommunicationOutboxProperties;
+import com.mogydan.accounts.constants.AccountsConstants;
+import com.mogydan.accounts.dto.AccountsMsgDto;
+import com.mogydan.accounts.entity.CommunicationOutbox;
+import com.mogydan.accounts.repository.CommunicationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.stream.config.BindingServiceProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the communication outbox to the broker in id order. A batch is sent at once so the producer can group it,
+ * then the relay waits for the acknowledgements and deletes only the rows the broker acknowledged. Payloads are
+ * converted like the sendCommunication-out-0 binding would, with its content type. Delivery is at least once: a
+ * crash between send and delete, or two pods relaying the same rows, resends them with the same
+ * {@value AccountsConstants#COMMUNICATION_ID_HEADER} header.
+ */
+@Slf4j
+@Component
+public class CommunicationOutboxRelay implements SchedulingConfigurer {
+
+    private static final String BINDING = "sendCommunication-out-0";
+    private static final String BACKLOG_SQL = "select count(*), min(created_at) from communication_outbox";
+
+    private final CommunicationOutboxRepository communicationOutboxRepository;
+    private final KafkaTemplate<byte[], byte[]> kafkaTemplate;
+    private final CompositeMessageConverter messageConverter;
+    private final String destination;
+    private final String contentType;
+    private final JdbcTemplate jdbcTemplate;
+    private final CommunicationOutboxProperties properties;
+    private final Counter relayed;
+    private final Counter relayFailures;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public CommunicationOutboxRelay(CommunicationOutboxRepository communicationOutboxRepository,
+                                    @Qualifier("communicationKafkaTemplate")
+                                    KafkaTemplate<byte[], byte[]> kafkaTemplate,
+                                    CompositeMessageConverter messageConverter,
+                                    BindingServiceProperties bindingServiceProperties, JdbcTemplate jdbcTemplate,
+                                    CommunicationOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.communicationOutboxRepository = communicationOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.messageConverter = messageConverter;
+        this.destination = bindingServiceProperties.getBindingDestination(BINDING);
+        this.contentType = bindingServiceProperties.getBindingProperties(BINDING).getContentType();
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.relayed = Counter.builder("communication.outbox.relayed")
+                .description("Communication requests handed from the outbox to the broker")
+                .register(meterRegistry);
+        this.relayFailures = Counter.builder("communication.outbox.relay.failures")
+                .description("Relay batches in which the broker did not acknowledge every send")
+                .register(meterRegistry);
+        Gauge.builder("communication.outbox.pending", pending, AtomicLong::get)
+                .description("Communication requests waiting in the outbox")
+                .register(meterRegistry);
+        TimeGauge.builder("communication.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest communication request waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(this::relay, properties.getInterval());
+    }
+
+    void relay() {
+        try {
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Communication outbox relay run failed", e);
+        } finally {
+            refreshBacklog();
+        }
+    }
+
+    private int relayBatch() {
+        List<CommunicationOutbox> batch =
+                communicationOutboxRepository.findByOrderByIdAsc(PageRequest.of(0, properties.getBatchSize()));
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (CommunicationOutbox entry : batch) {
+            sends.add(send(entry));
+        }
+        long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+        List<Long> ackedIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (awaitAck(batch.get(i), sends.get(i), deadline)) {
+                ackedIds.add(batch.get(i).getId());
+            }
+        }
+        if (ackedIds.size() < batch.size()) {
+            relayFailures.increment();
+        }
+        if (!ackedIds.isEmpty()) {
+            communicationOutboxRepository.deleteAllByIdInBatch(ackedIds);
+            relayed.increment(ackedIds.size());
+        }
+        // A short batch ends the run, so rows the broker refused are retried on the next one rather than right away
+        return ackedIds.size() == batch.size() ? batch.size() : 0;
+    }
+
+    private CompletableFuture<?> send(CommunicationOutbox entry) {
+        AccountsMsgDto payload = new AccountsMsgDto(entry.getAccountNumber(), entry.getName(), entry.getEmail(),
+                entry.getMobileNumber());
+        try {
+            Message<?> converted = messageConverter.toMessage(payload,
+                    new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, contentType)));
+            if (converted == null) {
+                throw new IllegalStateException("No message converter writes " + contentType);
+            }
+            byte[] key = String.valueOf(entry.getAccountNumber()).getBytes(StandardCharsets.UTF_8);
+            Message<?> message = MessageBuilder.withPayload(converted.getPayload())
+                    .setHeader(KafkaHeaders.TOPIC, destination)
+                    .setHeader(MessageHeaders.CONTENT_TYPE, contentType)
+                    .setHeader(AccountsConstants.COMMUNICATION_ID_HEADER, entry.getId())
+                    // Keyed by account number so every event of an account lands on the same partition, in order
+                    .setHeader(KafkaHeaders.KEY, key)
+                    .build();
+            return kafkaTemplate.send(message);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean awaitAck(CommunicationOutbox entry, CompletableFuture<?> send, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            log.warn("Communication request {} could not be sent, retrying on the next run", entry.getId(),
+                    e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Communication request {} was not acknowledged within {}, retrying on the next run",
+                    entry.getId(), properties.getSendTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void refreshBacklog() {
+        try {
+            jdbcTemplate.query(BACKLOG_SQL, rs -> {
+                pending.set(rs.getLong(1));
+                Timestamp oldest = rs.getTimestamp(2);
+                lagMillis.set(oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getTime()));
+            });
+        } catch (RuntimeException e) {
+            log.debug("Could not read the communication outbox backlog", e);
+        }
+    }
+}
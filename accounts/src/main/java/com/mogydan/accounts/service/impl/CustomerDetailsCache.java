@@ -0,0 +1,74 @@
+package com.mogydan.accounts.service.impl;
+
+import com.mogydan.accounts.dto.CustomerDetailsDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The composed customer view cached by {@link CustomerServiceImpl#fetchCustomerDetails}, and its explicit
+ * invalidation. Size and TTL evictions are reported by the cache itself; this only counts invalidations caused by
+ * writes. Every eviction bumps a generation shared by a stripe of keys, and a view is only stored when the
+ * generation it was read under is still current, so an aggregation that overlaps a write cannot put the pre-write
+ * view back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerDetailsCache {
+
+    public static final String CACHE_NAME = "customerDetails";
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public CustomerDetailsDto get(String mobileNumber) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        return cache != null ? cache.get(mobileNumber, CustomerDetailsDto.class) : null;
+    }
+
+    /**
+     * @return the generation to hand to {@link #put} for a view that is composed from now on
+     */
+    public long generation(String mobileNumber) {
+        return generations.get(stripe(mobileNumber));
+    }
+
+    /**
+     * Stores the view unless the key was evicted since {@code generation} was read. An eviction that races with the
+     * write is caught by the second check, which drops the entry again.
+     */
+    public void put(String mobileNumber, long generation, CustomerDetailsDto customerDetailsDto) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || generation(mobileNumber) != generation) {
+            return;
+        }
+        cache.put(mobileNumber, customerDetailsDto);
+        if (generation(mobileNumber) != generation) {
+            cache.evict(mobileNumber);
+        }
+    }
+
+    public void evict(String mobileNumber, String source) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || mobileNumber == null) {
+            return;
+        }
+        generations.incrementAndGet(stripe(mobileNumber));
+        cache.evict(mobileNumber);
+        meterRegistry.counter("customer.details.cache.invalidations", "source", source).increment();
+        log.debug("Evicted cached customer details for {} after a {} change", mobileNumber, source);
+    }
+
+    private static int stripe(String mobileNumber) {
+        return Math.floorMod(mobileNumber.hashCode(), GENERATION_STRIPES);
+    }
+}
@@ -1,52 +1,264 @@
 package com.mogydan.accounts.service.impl;
 
+import com.mogydan.accounts.config.CustomerDetailsExecutor;
+import com.mogydan.accounts.config.CustomerDetailsProperties;
 import com.mogydan.accounts.dto.*;
-import com.mogydan.accounts.entity.Accounts;
-import com.mogydan.accounts.entity.Customer;
+import com.mogydan.accounts.exception.LookupTimeoutException;
 import com.mogydan.accounts.exception.ResourceNotFoundException;
-import com.mogydan.accounts.mapper.AccountsMapper;
 import com.mogydan.accounts.mapper.CustomerMapper;
-import com.mogydan.accounts.repository.AccountsRepository;
 import com.mogydan.accounts.repository.CustomerRepository;
 import com.mogydan.accounts.service.CustomerService;
 import com.mogydan.accounts.service.client.CardsFeignClient;
+import com.mogydan.accounts.service.client.CardsReactiveClient;
 import com.mogydan.accounts.service.client.LoansFeignClient;
+import com.mogydan.accounts.service.client.LoansReactiveClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
 
-    private final AccountsRepository accountsRepository;
+    private static final String LEG_TIMER = "customer.details.leg";
+    private static final String LEG_TIMEOUTS = "customer.details.leg.timeouts";
+    private static final String ACCOUNTS_LEG = "accounts";
+    private static final String LOANS_LEG = "loans";
+    private static final String CARDS_LEG = "cards";
+    private static final String ACCOUNTS_BATCH_LEG = "accounts-batch";
+    private static final String LOANS_BATCH_LEG = "loans-batch";
+    private static final String CARDS_BATCH_LEG = "cards-batch";
+
     private final CustomerRepository customerRepository;
     private final LoansFeignClient loansFeignClient;
     private final CardsFeignClient cardsFeignClient;
+    private final LoansReactiveClient loansReactiveClient;
+    private final CardsReactiveClient cardsReactiveClient;
+    private final CustomerDetailsExecutor customerDetailsExecutor;
+    private final CustomerDetailsProperties customerDetailsProperties;
+    private final CustomerDetailsCache customerDetailsCache;
+    private final MeterRegistry meterRegistry;
 
-
+    // Partial views (a leg timed out or fell back) are not cached, so a slow dependency cannot pin stale gaps;
+    // a customer without a loan or card is complete and is cached
     @Override
     public CustomerDetailsDto fetchCustomerDetails(String mobileNumber, String correlationId) {
-        Customer customer = customerRepository.findByMobileNumber(mobileNumber)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
+        CustomerDetailsDto cached = customerDetailsCache.get(mobileNumber);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = customerDetailsCache.generation(mobileNumber);
+        CustomerDetailsDto customerDetailsDto;
+        ResponseEntity<LoansDto> loans;
+        ResponseEntity<CardsDto> cards;
+        if (!customerDetailsProperties.isParallel()) {
+            customerDetailsDto = loadCustomerDetails(mobileNumber);
+            loans = loansFeignClient.fetchLoanDetails(correlationId, mobileNumber);
+            cards = cardsFeignClient.fetchCardDetails(correlationId, mobileNumber);
+        } else {
+            long deadline = System.nanoTime() + customerDetailsProperties.getTimeout().toNanos();
+            Future<CustomerDetailsDto> customerFuture =
+                    submitLeg(ACCOUNTS_LEG, () -> loadCustomerDetails(mobileNumber));
+            Future<ResponseEntity<LoansDto>> loansFuture =
+                    submitLeg(LOANS_LEG, () -> loansFeignClient.fetchLoanDetails(correlationId, mobileNumber));
+            Future<ResponseEntity<CardsDto>> cardsFuture =
+                    submitLeg(CARDS_LEG, () -> cardsFeignClient.fetchCardDetails(correlationId, mobileNumber));
+
+            try {
+                customerDetailsDto = awaitRequired(customerFuture, deadline);
+                loans = awaitOptional(LOANS_LEG, loansFuture, deadline);
+                cards = awaitOptional(CARDS_LEG, cardsFuture, deadline);
+            } finally {
+                customerFuture.cancel(true);
+                loansFuture.cancel(true);
+                cardsFuture.cancel(true);
+            }
+        }
+        customerDetailsDto.setLoansDto(body(loans));
+        customerDetailsDto.setCardsDto(body(cards));
+        // A null response means the leg failed or timed out; an empty one means there is nothing to show
+        if (loans != null && cards != null) {
+            customerDetailsCache.put(mobileNumber, generation, customerDetailsDto);
+        }
+        return customerDetailsDto;
+    }
+
+    // Same caching, deadline and meters as the blocking aggregation, so both endpoints behave and compare alike
+    @Override
+    public Mono<CustomerDetailsDto> fetchCustomerDetailsReactive(String mobileNumber, String correlationId) {
+        return Mono.defer(() -> {
+            CustomerDetailsDto cached = customerDetailsCache.get(mobileNumber);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long generation = customerDetailsCache.generation(mobileNumber);
+            Duration timeout = customerDetailsProperties.getTimeout();
+            // JPA is blocking, so only the local lookup is shifted onto the bounded elastic scheduler
+            Mono<CustomerDetailsDto> customerMono = timedLeg(ACCOUNTS_LEG,
+                    Mono.fromCallable(() -> loadCustomerDetails(mobileNumber)).subscribeOn(Schedulers.boundedElastic()))
+                    .timeout(timeout, Mono.defer(() -> {
+                        meterRegistry.counter(LEG_TIMEOUTS, "leg", ACCOUNTS_LEG).increment();
+                        return Mono.error(new LookupTimeoutException("Customer", timeout));
+                    }));
+            Mono<Optional<ResponseEntity<LoansDto>>> loansMono = optionalLeg(LOANS_LEG,
+                    loansReactiveClient.fetchLoanDetails(correlationId, mobileNumber), timeout);
+            Mono<Optional<ResponseEntity<CardsDto>>> cardsMono = optionalLeg(CARDS_LEG,
+                    cardsReactiveClient.fetchCardDetails(correlationId, mobileNumber), timeout);
+
+            return Mono.zip(customerMono, loansMono, cardsMono)
+                    .map(tuple -> {
+                        CustomerDetailsDto customerDetailsDto = tuple.getT1();
+                        ResponseEntity<LoansDto> loans = tuple.getT2().orElse(null);
+                        ResponseEntity<CardsDto> cards = tuple.getT3().orElse(null);
+                        customerDetailsDto.setLoansDto(body(loans));
+                        customerDetailsDto.setCardsDto(body(cards));
+                        if (loans != null && cards != null) {
+                            customerDetailsCache.put(mobileNumber, generation, customerDetailsDto);
+                        }
+                        return customerDetailsDto;
+                    });
+        });
+    }
+
+    /**
+     * A remote leg that leaves the response partial instead of failing it: no response when it timed out or fell
+     * back, like {@link #awaitOptional} for the blocking legs.
+     */
+    private <T> Mono<Optional<T>> optionalLeg(String leg, Mono<T> call, Duration timeout) {
+        return timedLeg(leg, call)
+                .timeout(timeout, Mono.defer(() -> {
+                    meterRegistry.counter(LEG_TIMEOUTS, "leg", leg).increment();
+                    log.warn("The {} leg did not complete within the deadline, returning partial customer details",
+                            leg);
+                    return Mono.empty();
+                }))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private <T> Mono<T> timedLeg(String leg, Mono<T> call) {
+        Timer timer = legTimer(leg);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public List<CustomerDetailsDto> fetchCustomerDetailsBatch(List<String> mobileNumbers, String correlationId) {
+        long deadline = System.nanoTime() + customerDetailsProperties.getTimeout().toNanos();
+        Future<List<CustomerDetailsDto>> customersFuture =
+                submitLeg(ACCOUNTS_BATCH_LEG, () -> loadCustomerDetails(mobileNumbers));
+        Future<List<LoansDto>> loansFuture =
+                submitLeg(LOANS_BATCH_LEG, () -> body(loansFeignClient.fetchLoanDetailsBatch(correlationId, mobileNumbers)));
+        Future<List<CardsDto>> cardsFuture =
+                submitLeg(CARDS_BATCH_LEG, () -> body(cardsFeignClient.fetchCardDetailsBatch(correlationId, mobileNumbers)));
 
-        Accounts account = accountsRepository.findByCustomerId(customer.getCustomerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Accounts", "customerId", customer.getCustomerId().toString()));
-        CustomerDetailsDto customerDetailsDto = CustomerMapper.mapToCustomerDetailsDto(customer, new CustomerDetailsDto());
-        AccountsDto accountsDto = AccountsMapper.mapToAccountsDto(account, new AccountsDto());
+        try {
+            List<CustomerDetailsDto> customerDetailsDtos = awaitRequired(customersFuture, deadline);
+            Map<String, LoansDto> loansByMobileNumber =
+                    indexByMobileNumber(awaitOptional(LOANS_BATCH_LEG, loansFuture, deadline), LoansDto::getMobileNumber);
+            Map<String, CardsDto> cardsByMobileNumber =
+                    indexByMobileNumber(awaitOptional(CARDS_BATCH_LEG, cardsFuture, deadline), CardsDto::getMobileNumber);
+            customerDetailsDtos.forEach(customerDetailsDto -> {
+                customerDetailsDto.setLoansDto(loansByMobileNumber.get(customerDetailsDto.getMobileNumber()));
+                customerDetailsDto.setCardsDto(cardsByMobileNumber.get(customerDetailsDto.getMobileNumber()));
+            });
+            return customerDetailsDtos;
+        } finally {
+            customersFuture.cancel(true);
+            loansFuture.cancel(true);
+            cardsFuture.cancel(true);
+        }
+    }
+
+    private List<CustomerDetailsDto> loadCustomerDetails(Collection<String> mobileNumbers) {
+        return customerRepository.findCustomerAccountViews(mobileNumbers).stream()
+                .map(view -> CustomerMapper.mapToCustomerDetailsDto(view, new CustomerDetailsDto()))
+                .toList();
+    }
 
-        ResponseEntity<LoansDto> loansDtoResponseEntity = loansFeignClient.fetchLoanDetails(correlationId, mobileNumber);
-        if (loansDtoResponseEntity != null) {
-            customerDetailsDto.setLoansDto(loansDtoResponseEntity.getBody());
+    private static <T> Map<String, T> indexByMobileNumber(List<T> dtos, Function<T, String> mobileNumber) {
+        if (dtos == null) {
+            return Map.of();
         }
+        return dtos.stream().collect(Collectors.toMap(mobileNumber, Function.identity(), (first, second) -> first));
+    }
 
-        ResponseEntity<CardsDto> cardsDtoResponseEntity = cardsFeignClient.fetchCardDetails(correlationId, mobileNumber);
-        if (cardsDtoResponseEntity != null) {
-            customerDetailsDto.setCardsDto(cardsDtoResponseEntity.getBody());
+    private CustomerDetailsDto loadCustomerDetails(String mobileNumber) {
+        CustomerAccountView view = customerRepository.findCustomerAccountView(mobileNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
+        return CustomerMapper.mapToCustomerDetailsDto(view, new CustomerDetailsDto());
+    }
+
+    private static <T> T body(ResponseEntity<T> responseEntity) {
+        return responseEntity != null ? responseEntity.getBody() : null;
+    }
+
+    private <T> Future<T> submitLeg(String leg, Supplier<T> call) {
+        Timer timer = legTimer(leg);
+        return customerDetailsExecutor.submit(() -> timer.record(call));
+    }
+
+    private Timer legTimer(String leg) {
+        return Timer.builder(LEG_TIMER)
+                .description("Latency of a single customer details dependency")
+                .tag("leg", leg)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private <T> T awaitRequired(Future<T> future, long deadline) {
+        try {
+            return future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            meterRegistry.counter(LEG_TIMEOUTS, "leg", ACCOUNTS_LEG).increment();
+            throw new LookupTimeoutException("Customer", customerDetailsProperties.getTimeout());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
         }
+    }
 
-        customerDetailsDto.setAccountsDto(accountsDto);
+    private <T> T awaitOptional(String leg, Future<T> future, long deadline) {
+        try {
+            return future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            meterRegistry.counter(LEG_TIMEOUTS, "leg", leg).increment();
+            log.warn("The {} leg did not complete within the deadline, returning partial customer details", leg);
+        } catch (ExecutionException e) {
+            log.warn("The {} leg failed, returning partial customer details", leg, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
 
-        return customerDetailsDto;
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
     }
 }
@@ -0,0 +1,22 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Moves customer_seq past the ids already handed out by the AUTO_INCREMENT column, so adopted databases do not
+ * reissue an existing customer_id. The restart value is only known at migration time, hence a Java migration.
+ */
+public class V4_1__restart_customer_sequence extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        Long maxCustomerId = jdbcTemplate.queryForObject("select max(customer_id) from customer", Long.class);
+        if (maxCustomerId != null) {
+            jdbcTemplate.execute("alter sequence customer_seq restart with " + (maxCustomerId + 1));
+        }
+    }
+}
@@ -19,4 +19,4 @@ CREATE TABLE IF NOT EXISTS `accounts` (
    `created_by` varchar(20) NOT NULL,
    `updated_at` date DEFAULT NULL,
     `updated_by` varchar(20) DEFAULT NULL
-);
\ No newline at end of file
+);
@@ -0,0 +1,2 @@
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_customer_mobile_number` ON `customer` (`mobile_number`);
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_accounts_customer_id` ON `accounts` (`customer_id`);
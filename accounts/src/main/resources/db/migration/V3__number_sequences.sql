@@ -0,0 +1,4 @@
+-- Luhn-suffixed numbers are ten times the sequence value (1.9 billion and up), past the range of the int column
+ALTER TABLE `accounts` ALTER COLUMN `account_number` SET DATA TYPE bigint;
+-- Starts above the range the old random account numbers were drawn from; INCREMENT BY is the allocator block size
+CREATE SEQUENCE IF NOT EXISTS account_number_seq START WITH 190000000 INCREMENT BY 100;
@@ -0,0 +1,2 @@
+-- Customer ids come from a pooled-lo sequence shared by Hibernate and bulk onboarding; INCREMENT BY is the pool size
+CREATE SEQUENCE IF NOT EXISTS customer_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS `communication_outbox` (
+  `id` bigint AUTO_INCREMENT PRIMARY KEY,
+  `account_number` bigint NOT NULL,
+  `name` varchar(100) NOT NULL,
+  `email` varchar(100) NOT NULL,
+  `mobile_number` varchar(20) NOT NULL,
+  `created_at` timestamp NOT NULL
+);
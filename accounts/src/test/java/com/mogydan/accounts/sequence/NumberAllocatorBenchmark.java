@@ -0,0 +1,67 @@
+package com.mogydan.accounts.sequence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Allocation rate of {@link NumberAllocator} against the random numbers it replaced. The sequence is stubbed, so
+ * this measures the in-memory path; a block refill adds one database round trip per block. Run from the IDE or with
+ * the test classpath: {@code java -cp <test classpath> com.mogydan.accounts.sequence.NumberAllocatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberAllocatorBenchmark {
+
+    private NumberAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        allocator = new NumberAllocator(new NumberAllocatorTests.SequenceStub(190000000, 100), "seq", 100);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long allocatorSingleThread() {
+        return allocator.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long allocatorEightThreads() {
+        return allocator.next();
+    }
+
+    // What createNewAccount did before the allocator
+    @Benchmark
+    @Threads(1)
+    public long randomPerCall() {
+        return 1000000000L + new Random().nextInt(900000000);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long threadLocalRandom() {
+        return 1000000000L + ThreadLocalRandom.current().nextInt(900000000);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NumberAllocatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
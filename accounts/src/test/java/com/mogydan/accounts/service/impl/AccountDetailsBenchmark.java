@@ -0,0 +1,113 @@
+package com.mogydan.accounts.service.impl;
+
+import com.mogydan.accounts.AccountsApplication;
+import com.mogydan.accounts.dto.AccountsDto;
+import com.mogydan.accounts.dto.CustomerDto;
+import com.mogydan.accounts.entity.Accounts;
+import com.mogydan.accounts.entity.Customer;
+import com.mogydan.accounts.exception.ResourceNotFoundException;
+import com.mogydan.accounts.mapper.AccountsMapper;
+import com.mogydan.accounts.mapper.CustomerMapper;
+import com.mogydan.accounts.repository.AccountsRepository;
+import com.mogydan.accounts.repository.CustomerRepository;
+import com.mogydan.accounts.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and allocation of {@link AccountServiceImpl#getAccountDetails}, one projected join, against the two
+ * repository reads and entity mapping it replaced. Runs the service in-process on its H2 database without a config
+ * server or Eureka; the Kafka bindings expect a broker on localhost:9092 as the application does. Allocation per call
+ * is reported by the GC profiler as gc.alloc.rate.norm. Run from the IDE or with the test classpath:
+ * {@code java -cp <test classpath> com.mogydan.accounts.service.impl.AccountDetailsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountDetailsBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private CustomerRepository customerRepository;
+    private AccountsRepository accountsRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command line arguments take precedence over application.yml
+        context = SpringApplication.run(AccountsApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.cloud.config.enabled=false",
+                "--eureka.client.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        accountService = context.getBean(AccountService.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        accountsRepository = context.getBean(AccountsRepository.class);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            CustomerDto customerDto = new CustomerDto();
+            customerDto.setName("Customer " + i);
+            customerDto.setEmail("customer" + i + "@example.com");
+            customerDto.setMobileNumber(mobileNumber(i));
+            accountService.createAccount(customerDto);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerDto projectedJoin() {
+        return accountService.getAccountDetails(mobileNumber(ThreadLocalRandom.current().nextInt(CUSTOMERS)));
+    }
+
+    // What getAccountDetails did before the projection
+    @Benchmark
+    public CustomerDto twoQueries() {
+        String mobileNumber = mobileNumber(ThreadLocalRandom.current().nextInt(CUSTOMERS));
+        Customer customer = customerRepository.findByMobileNumber(mobileNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "mobileNumber", mobileNumber));
+        Accounts accounts = accountsRepository.findByCustomerId(customer.getCustomerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "customerId",
+                        customer.getCustomerId().toString()));
+        CustomerDto customerDto = CustomerMapper.mapToCustomerDto(customer, new CustomerDto());
+        customerDto.setAccountsDto(AccountsMapper.mapToAccountsDto(accounts, new AccountsDto()));
+        return customerDto;
+    }
+
+    private static String mobileNumber(int i) {
+        return Long.toString(6_000_000_000L + i);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccountDetailsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.mogydan.accounts.service.impl;
+
+import com.mogydan.accounts.AccountsApplication;
+import com.mogydan.accounts.constants.AccountsConstants;
+import com.mogydan.accounts.dto.CustomerDto;
+import com.mogydan.accounts.service.AccountService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregations per second of the blocking customer-details endpoint against the reactive one when loans and cards
+ * are slow. Both downstreams are stubbed in-process and answer after {@code downstreamLatencyMs}; 400 concurrent
+ * clients call accounts, whose Tomcat keeps its default 200 request threads. The customer-details cache is switched
+ * off so every call goes downstream. Runs without a config server or Eureka; the Kafka bindings expect a broker on
+ * localhost:9092 as the application does. Run from the IDE or with the test classpath:
+ * {@code java -cp <test classpath> com.mogydan.accounts.service.impl.CustomerDetailsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(400)
+public class CustomerDetailsBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"fetchCustomerDetails", "fetchCustomerDetails-reactive"})
+    public String endpoint;
+
+    @Param({"200"})
+    public long downstreamLatencyMs;
+
+    private HttpServer downstream;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        downstream = HttpServer.create(new InetSocketAddress("localhost", 0), 1_000);
+        downstream.createContext("/api/fetch", this::answerAfterLatency);
+        downstream.setExecutor(Executors.newCachedThreadPool());
+        downstream.start();
+        String downstreamUri = "http://localhost:" + downstream.getAddress().getPort();
+        // Command line arguments take precedence over application.yml
+        context = SpringApplication.run(AccountsApplication.class,
+                "--server.port=0",
+                "--spring.cache.type=none",
+                "--spring.cloud.config.enabled=false",
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances.cards[0].uri=" + downstreamUri,
+                "--spring.cloud.discovery.client.simple.instances.loans[0].uri=" + downstreamUri,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        AccountService accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            CustomerDto customerDto = new CustomerDto();
+            customerDto.setName("Customer " + i);
+            customerDto.setEmail("customer" + i + "@example.com");
+            customerDto.setMobileNumber(mobileNumber(i));
+            accountService.createAccount(customerDto);
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = "http://localhost:" + port + "/api/" + endpoint + "?mobileNumber=";
+        httpClient = HttpClient.newBuilder().executor(Executors.newCachedThreadPool()).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        downstream.stop(0);
+    }
+
+    @Benchmark
+    public int fetchCustomerDetails() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        baseUri + mobileNumber(ThreadLocalRandom.current().nextInt(CUSTOMERS))))
+                .header(AccountsConstants.CORRELATION_ID, "benchmark")
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(endpoint + " answered " + response.statusCode());
+        }
+        return response.body().length();
+    }
+
+    /**
+     * Serves both /api/fetch endpoints of cards and loans with the fields of either DTO; unknown ones are ignored.
+     */
+    private void answerAfterLatency(HttpExchange exchange) throws IOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(downstreamLatencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String query = exchange.getRequestURI().getQuery();
+        String mobileNumber = query.substring(query.indexOf('=') + 1);
+        byte[] body = ("{\"mobileNumber\":\"" + mobileNumber + "\",\"cardNumber\":\"100000000001\","
+                + "\"cardType\":\"Credit Card\",\"totalLimit\":100000,\"amountUsed\":0,\"availableAmount\":100000,"
+                + "\"loanNumber\":\"100000000001\",\"loanType\":\"Home Loan\",\"totalLoan\":100000,"
+                + "\"amountPaid\":0,\"outstandingAmount\":100000}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String mobileNumber(int i) {
+        return Long.toString(7_000_000_000L + i);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CustomerDetailsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
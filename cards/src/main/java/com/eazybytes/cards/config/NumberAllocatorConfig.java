@@ -0,0 +1,20 @@
+package com.eazybytes.cards.config;
+
+import com.eazybytes.cards.sequence.NumberAllocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class NumberAllocatorConfig {
+
+    /**
+     * Must match the INCREMENT BY of the sequence created in V3__number_sequences.sql.
+     */
+    public static final int BLOCK_SIZE = 100;
+
+    @Bean
+    public NumberAllocator cardNumberAllocator(JdbcTemplate jdbcTemplate) {
+        return new NumberAllocator(jdbcTemplate, "card_number_seq", BLOCK_SIZE);
+    }
+}
@@ -0,0 +1,4 @@
+package com.eazybytes.cards.dto;
+
+public record CardsMsgDto(String mobileNumber, String cardNumber) {
+}
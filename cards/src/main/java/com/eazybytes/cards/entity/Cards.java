@@ -2,9 +2,15 @@ package com.eazybytes.cards.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
+@NaturalIdCache(region = "cards-natural-id")
 @Getter
 @Setter
 @ToString
@@ -17,6 +23,7 @@ public class Cards extends BaseEntity {
 	@GenericGenerator(name = "native",strategy = "native")
 	private Long cardId;
 
+	@NaturalId(mutable = true)
 	private String mobileNumber;
 
 	private String cardNumber;
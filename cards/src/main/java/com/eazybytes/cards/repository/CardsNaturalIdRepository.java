@@ -0,0 +1,15 @@
+package com.eazybytes.cards.repository;
+
+import com.eazybytes.cards.entity.Cards;
+
+import java.util.Optional;
+
+public interface CardsNaturalIdRepository {
+
+    /**
+     * Resolves through the natural id and entity cache regions before falling back to the database
+     * @param mobileNumber - Mobile Number of the Customer
+     */
+    Optional<Cards> findByMobileNumber(String mobileNumber);
+
+}
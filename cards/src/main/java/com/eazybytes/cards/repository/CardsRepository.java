@@ -4,12 +4,14 @@ import com.eazybytes.cards.entity.Cards;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CardsRepository extends JpaRepository<Cards, Long> {
+public interface CardsRepository extends JpaRepository<Cards, Long>, CardsNaturalIdRepository {
 
-    Optional<Cards> findByMobileNumber(String mobileNumber);
+    List<Cards> findByMobileNumberIn(Collection<String> mobileNumbers);
 
     Optional<Cards> findByCardNumber(String cardNumber);
 
@@ -0,0 +1,69 @@
+package com.eazybytes.cards.sequence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out unique numbers with a trailing Luhn check digit. Each pod reserves a block of {@code blockSize} values
+ * with one call to a database sequence whose INCREMENT BY equals the block size, then serves the block from memory.
+ */
+public class NumberAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextBlockSql;
+    private final int blockSize;
+    // ReentrantLock rather than synchronized, so a refill does not pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public NumberAllocator(JdbcTemplate jdbcTemplate, String sequenceName, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextBlockSql = "select next value for " + sequenceName;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @return the next unallocated number, check digit included
+     */
+    public long next() {
+        long body;
+        lock.lock();
+        try {
+            if (next == limit) {
+                Long blockStart = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+                if (blockStart == null) {
+                    throw new IllegalStateException("Sequence returned no value for " + nextBlockSql);
+                }
+                next = blockStart;
+                limit = blockStart + blockSize;
+            }
+            body = next++;
+        } finally {
+            lock.unlock();
+        }
+        return body * 10 + checkDigit(body);
+    }
+
+    /**
+     * @param body - number without its check digit
+     * @return the Luhn check digit to append to the body
+     */
+    static int checkDigit(long body) {
+        int sum = 0;
+        boolean doubled = true;
+        for (long remaining = body; remaining > 0; remaining /= 10) {
+            int digit = (int) (remaining % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
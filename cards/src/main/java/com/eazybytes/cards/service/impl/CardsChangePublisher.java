@@ -0,0 +1,36 @@
+package com.eazybytes.cards.service.impl;
+
+import com.eazybytes.cards.dto.CardsMsgDto;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes cards change events once the change is committed, off the request thread, so a slow or unreachable
+ * broker never holds up or fails a card write. A lost event only means accounts serves its cached customer view
+ * until that entry expires.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class CardsChangePublisher {
+
+    private StreamBridge streamBridge;
+
+    /**
+     * @param cardsMsgDto - changed card reference
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(CardsMsgDto cardsMsgDto) {
+        try {
+            boolean result = streamBridge.send("cardsChanged-out-0", cardsMsgDto);
+            log.debug("Is the card change event for {} successfully triggered? : {}", cardsMsgDto.mobileNumber(), result);
+        } catch (RuntimeException e) {
+            log.warn("The card change event for {} could not be published", cardsMsgDto.mobileNumber(), e);
+        }
+    }
+}
@@ -2,34 +2,57 @@ package com.eazybytes.cards.service.impl;
 
 import com.eazybytes.cards.constants.CardsConstants;
 import com.eazybytes.cards.dto.CardsDto;
+import com.eazybytes.cards.dto.CardsMsgDto;
 import com.eazybytes.cards.entity.Cards;
 import com.eazybytes.cards.exception.CardAlreadyExistsException;
 import com.eazybytes.cards.exception.ResourceNotFoundException;
 import com.eazybytes.cards.mapper.CardsMapper;
 import com.eazybytes.cards.repository.CardsRepository;
+import com.eazybytes.cards.sequence.NumberAllocator;
 import com.eazybytes.cards.service.ICardsService;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Optional;
-import java.util.Random;
+import java.util.List;
+import java.util.Objects;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class CardsServiceImpl implements ICardsService {
 
+    private static final String MOBILE_NUMBER_KEY = "ux_cards_mobile_number";
+
     private CardsRepository cardsRepository;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private CacheManager cacheManager;
+    private NumberAllocator cardNumberAllocator;
 
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
     public void createCard(String mobileNumber) {
-        Optional<Cards> optionalCards= cardsRepository.findByMobileNumber(mobileNumber);
-        if(optionalCards.isPresent()){
+        Cards savedCard;
+        try {
+            savedCard = cardsRepository.saveAndFlush(createNewCard(mobileNumber));
+        } catch (DataIntegrityViolationException e) {
+            if (!isViolationOf(e, MOBILE_NUMBER_KEY)) {
+                throw e;
+            }
             throw new CardAlreadyExistsException("Card already registered with given mobileNumber "+mobileNumber);
         }
-        cardsRepository.save(createNewCard(mobileNumber));
+        sendChangeEvent(savedCard);
     }
 
     /**
@@ -38,8 +61,7 @@ public class CardsServiceImpl implements ICardsService {
      */
     private Cards createNewCard(String mobileNumber) {
         Cards newCard = new Cards();
-        long randomCardNumber = 100000000000L + new Random().nextInt(900000000);
-        newCard.setCardNumber(Long.toString(randomCardNumber));
+        newCard.setCardNumber(Long.toString(cardNumberAllocator.next()));
         newCard.setMobileNumber(mobileNumber);
         newCard.setCardType(CardsConstants.CREDIT_CARD);
         newCard.setTotalLimit(CardsConstants.NEW_CARD_LIMIT);
@@ -54,6 +76,7 @@ public class CardsServiceImpl implements ICardsService {
      * @return Card Details based on a given mobileNumber
      */
     @Override
+    @Cacheable(cacheNames = CardsConstants.CARDS_CACHE, key = "#mobileNumber")
     public CardsDto fetchCard(String mobileNumber) {
         Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
@@ -61,17 +84,37 @@ public class CardsServiceImpl implements ICardsService {
         return CardsMapper.mapToCardsDto(cards, new CardsDto());
     }
 
+    /**
+     *
+     * @param mobileNumbers - Input mobile Numbers
+     * @return Card Details of every given mobileNumber that has a card
+     */
+    @Override
+    public List<CardsDto> fetchCards(List<String> mobileNumbers) {
+        return cardsRepository.findByMobileNumberIn(mobileNumbers).stream()
+                .map(cards -> CardsMapper.mapToCardsDto(cards, new CardsDto()))
+                .toList();
+    }
+
     /**
      *
      * @param cardsDto - CardsDto Object
      * @return boolean indicating if the update of card details is successful or not
      */
     @Override
+    @Transactional
     public boolean updateCard(CardsDto cardsDto) {
         Cards cards = cardsRepository.findByCardNumber(cardsDto.getCardNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "CardNumber", cardsDto.getCardNumber()));
+        String previousMobileNumber = cards.getMobileNumber();
         CardsMapper.mapToCards(cardsDto, cards);
         cardsRepository.save(cards);
+        evictAfterCommit(previousMobileNumber);
+        if (!previousMobileNumber.equals(cards.getMobileNumber())) {
+            evictAfterCommit(cards.getMobileNumber());
+            sendChangeEvent(new CardsMsgDto(previousMobileNumber, cards.getCardNumber()));
+        }
+        sendChangeEvent(cards);
         return  true;
     }
 
@@ -80,13 +123,55 @@ public class CardsServiceImpl implements ICardsService {
      * @return boolean indicating if the delete of card details is successful or not
      */
     @Override
+    @Transactional
     public boolean deleteCard(String mobileNumber) {
         Cards cards = cardsRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Card", "mobileNumber", mobileNumber)
         );
         cardsRepository.deleteById(cards.getCardId());
+        evictAfterCommit(mobileNumber);
+        sendChangeEvent(cards);
         return true;
     }
 
+    /**
+     * Drops the cached card once the write is committed, so a concurrent fetchCard miss that cached the old row while
+     * the transaction was open is dropped with it; the next fetchCard loads the committed row
+     * @param mobileNumber - mobile number the cache entry is keyed by
+     */
+    private void evictAfterCommit(String mobileNumber) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cardsCache().evict(mobileNumber);
+            }
+        });
+    }
+
+    /**
+     * @return the read-through cache behind fetchCard, keyed by mobile number
+     */
+    private Cache cardsCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CardsConstants.CARDS_CACHE));
+    }
+
+    private static boolean isViolationOf(DataIntegrityViolationException e, String constraint) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(constraint);
+    }
+
+    private void sendChangeEvent(Cards cards) {
+        sendChangeEvent(new CardsMsgDto(cards.getMobileNumber(), cards.getCardNumber()));
+    }
+
+    /**
+     * Lets the accounts service drop its cached customer view for the affected mobile number; published by
+     * {@link CardsChangePublisher} after commit
+     * @param cardsMsgDto - changed card reference
+     */
+    private void sendChangeEvent(CardsMsgDto cardsMsgDto) {
+        applicationEventPublisher.publishEvent(cardsMsgDto);
+    }
 
 }
@@ -0,0 +1,2 @@
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_cards_mobile_number` ON `cards` (`mobile_number`);
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_cards_card_number` ON `cards` (`card_number`);
@@ -0,0 +1,2 @@
+-- Starts above the range the old random card numbers were drawn from; INCREMENT BY is the allocator block size
+CREATE SEQUENCE IF NOT EXISTS card_number_seq START WITH 10100000000 INCREMENT BY 100;
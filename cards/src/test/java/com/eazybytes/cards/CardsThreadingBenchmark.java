@@ -0,0 +1,107 @@
+package com.eazybytes.cards;
+
+import com.eazybytes.cards.constants.CardsConstants;
+import com.eazybytes.cards.service.ICardsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load test of the cards service on platform against virtual request threads: 200 concurrent clients fetch batches
+ * of cards, so every request goes to H2 through the connection pool. Runs the service in-process without a config
+ * server, Eureka or Kafka; change events that cannot be published are only logged. Run from the IDE or with the test
+ * classpath: {@code java -cp <test classpath> com.eazybytes.cards.CardsThreadingBenchmark}, with
+ * {@code -Djdk.tracePinnedThreads=short} added to the fork's JVM arguments to see where virtual threads pin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(200)
+public class CardsThreadingBenchmark {
+
+    private static final int CARDS = 1_000;
+    private static final int BATCH_SIZE = 20;
+
+    @Param({"false", "true"})
+    public String virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI fetchBatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command line arguments take precedence over application.yml
+        context = SpringApplication.run(CardsApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=200",
+                "--spring.cloud.config.enabled=false",
+                "--eureka.client.enabled=false",
+                "--logging.level.root=WARN");
+        ICardsService cardsService = context.getBean(ICardsService.class);
+        for (int i = 0; i < CARDS; i++) {
+            cardsService.createCard(mobileNumber(i));
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        fetchBatch = URI.create("http://localhost:" + port + "/api/fetch-batch");
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int fetchBatch() throws IOException, InterruptedException {
+        int first = ThreadLocalRandom.current().nextInt(CARDS - BATCH_SIZE);
+        StringBuilder body = new StringBuilder("[");
+        for (int i = first; i < first + BATCH_SIZE; i++) {
+            body.append(i > first ? ",\"" : "\"").append(mobileNumber(i)).append('"');
+        }
+        HttpRequest request = HttpRequest.newBuilder(fetchBatch)
+                .header(CardsConstants.CORRELATION_ID, "benchmark")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("fetch-batch answered " + response.statusCode());
+        }
+        return response.body().length();
+    }
+
+    private static String mobileNumber(int i) {
+        return Long.toString(5_000_000_000L + i);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CardsThreadingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
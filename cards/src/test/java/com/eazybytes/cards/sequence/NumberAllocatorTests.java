@@ -0,0 +1,116 @@
+package com.eazybytes.cards.sequence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NumberAllocatorTests {
+
+    @Test
+    void checkDigitMatchesKnownLuhnNumbers() {
+        assertThat(NumberAllocator.checkDigit(7992739871L)).isEqualTo(3);
+        assertThat(NumberAllocator.checkDigit(411111111111111L)).isEqualTo(1);
+        assertThat(NumberAllocator.checkDigit(37828224631000L)).isEqualTo(5);
+        assertThat(NumberAllocator.checkDigit(601111111111111L)).isEqualTo(7);
+        assertThat(NumberAllocator.checkDigit(0)).isEqualTo(0);
+    }
+
+    @Test
+    void everyNumberPassesTheLuhnCheck() {
+        NumberAllocator allocator = new NumberAllocator(new SequenceStub(190000000, 100), "seq", 100);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(isLuhnValid(allocator.next())).isTrue();
+        }
+    }
+
+    @Test
+    void servesABlockBeforeReservingTheNextOne() {
+        SequenceStub sequence = new SequenceStub(100, 100);
+        NumberAllocator allocator = new NumberAllocator(sequence, "seq", 3);
+        List<Long> bodies = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            bodies.add(allocator.next() / 10);
+        }
+        assertThat(bodies).containsExactly(100L, 101L, 102L, 200L, 201L, 202L, 300L);
+        assertThat(sequence.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentCallersGetUniqueNumbersAndRefillOncePerBlock() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        int blockSize = 100;
+        SequenceStub sequence = new SequenceStub(1, blockSize);
+        NumberAllocator allocator = new NumberAllocator(sequence, "seq", blockSize);
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(allocator.next());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(numbers).hasSize(threads * perThread);
+        assertThat(sequence.calls.get()).isEqualTo(threads * perThread / blockSize);
+    }
+
+    private static boolean isLuhnValid(long number) {
+        int sum = 0;
+        boolean doubled = false;
+        for (long remaining = number; remaining > 0; remaining /= 10) {
+            int digit = (int) (remaining % 10);
+            if (doubled) {
+                digit = digit * 2 > 9 ? digit * 2 - 9 : digit * 2;
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return sum % 10 == 0;
+    }
+
+    /**
+     * Stands in for a database sequence whose INCREMENT BY is the block size.
+     */
+    static final class SequenceStub extends JdbcTemplate {
+
+        private final AtomicLong next;
+        private final long increment;
+        final AtomicInteger calls = new AtomicInteger();
+
+        SequenceStub(long start, long increment) {
+            this.next = new AtomicLong(start);
+            this.increment = increment;
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            calls.incrementAndGet();
+            return requiredType.cast(next.getAndAdd(increment));
+        }
+    }
+}
@@ -1,24 +1,35 @@
 package com.mogydan.gatewayserver;
 
+import com.mogydan.gatewayserver.config.RateLimiterProperties;
+import com.mogydan.gatewayserver.filters.LocalRateLimiter;
+import com.mogydan.gatewayserver.filters.RequestCoalescingGatewayFilterFactory;
+import com.mogydan.gatewayserver.filters.ResponseCacheGatewayFilterFactory;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
 import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
 import org.springframework.cloud.client.circuitbreaker.Customizer;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
 import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.ConfigurationService;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.http.HttpMethod;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 
 @SpringBootApplication
+@EnableConfigurationProperties(RateLimiterProperties.class)
 public class GatewayserverApplication {
 
     public static void main(String[] args) {
@@ -26,26 +37,31 @@ public class GatewayserverApplication {
     }
 
     @Bean
-    public RouteLocator mogydanBankRouteConfig(RouteLocatorBuilder routeLocatorBuilder) {
+    public RouteLocator mogydanBankRouteConfig(RouteLocatorBuilder routeLocatorBuilder,
+                                              ResponseCacheGatewayFilterFactory responseCache,
+                                              RequestCoalescingGatewayFilterFactory requestCoalescing,
+                                              RateLimiter<?> rateLimiter) {
         return routeLocatorBuilder.routes()
-                .route(p -> p.path("/mogydanbank/accounts/**")
+                .route("accounts", p -> p.path("/mogydanbank/accounts/**")
                         .filters(f -> f.rewritePath("/mogydanbank/accounts/(?<segment>.*)", "/${segment}")
-                                .addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
+                                .filter(responseCache.apply(config -> config.setName("accounts")))
+                                .filter(requestCoalescing.apply(config -> config.setName("accounts")))
                                 .circuitBreaker(config -> config.setName("accountCircuitBreaker")
                                         .setFallbackUri("forward:/contactSupport")))
                         .uri("lb://ACCOUNTS"))
-                .route(p -> p.path("/mogydanbank/loans/**")
+                .route("loans", p -> p.path("/mogydanbank/loans/**")
                         .filters(f -> f.rewritePath("/mogydanbank/loans/(?<segment>.*)", "/${segment}")
-                                .addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
+                                .filter(responseCache.apply(config -> config.setName("loans")))
                                 .retry(retryConfig -> retryConfig.setRetries(3)
                                         .setMethods(HttpMethod.GET)
                                         .setBackoff(Duration.ofMillis(100), Duration.ofMillis(1000), 2, true)))
                         .uri("lb://LOANS"))
-                .route(p -> p.path("/mogydanbank/cards/**")
+                .route("cards", p -> p.path("/mogydanbank/cards/**")
                         .filters(f -> f.rewritePath("/mogydanbank/cards/(?<segment>.*)", "/${segment}")
-                                .addResponseHeader("X-Response-Time", LocalDateTime.now().toString())
-                                .requestRateLimiter(config -> config.setRateLimiter(redisRateLimiter())
-                                        .setKeyResolver(userKeyResolver())))
+                                .requestRateLimiter(config -> config.setRateLimiter(rateLimiter)
+                                        .setKeyResolver(userKeyResolver()))
+                                .filter(responseCache.apply(config -> config.setName("cards")))
+                                .filter(requestCoalescing.apply(config -> config.setName("cards"))))
                         .uri("lb://CARDS"))
                 .build();
     }
@@ -58,8 +74,19 @@ public class GatewayserverApplication {
     }
 
     @Bean
-    RedisRateLimiter redisRateLimiter() {
-        return new RedisRateLimiter(1, 1, 1);
+    @ConditionalOnProperty(name = "rate-limiter.type", havingValue = "redis", matchIfMissing = true)
+    RedisRateLimiter redisRateLimiter(RateLimiterProperties properties) {
+        return new RedisRateLimiter(properties.getReplenishRate(), properties.getBurstCapacity(),
+                properties.getRequestedTokens());
+    }
+
+    // Primary because the gateway still auto-configures a RedisRateLimiter when this one is chosen
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "rate-limiter.type", havingValue = "local")
+    LocalRateLimiter localRateLimiter(RateLimiterProperties properties, ReactiveStringRedisTemplate redisTemplate,
+                                      MeterRegistry meterRegistry, ConfigurationService configurationService) {
+        return new LocalRateLimiter(properties, redisTemplate, meterRegistry, configurationService);
     }
 
     @Bean
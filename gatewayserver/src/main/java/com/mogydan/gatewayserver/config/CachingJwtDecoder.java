@@ -0,0 +1,108 @@
+package com.mogydan.gatewayserver.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens whose signature and claims were verified, keyed by their SHA-256 digest so raw tokens are not
+ * kept, until they expire or {@code maximumTtl} passes. Decode time is recorded as {@code gateway.jwt.decode},
+ * tagged by whether the cache answered.
+ */
+public class CachingJwtDecoder implements ReactiveJwtDecoder {
+
+    private static final String TIMER = "gateway.jwt.decode";
+
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<String, Jwt> verified;
+    private final Timer hits;
+    private final Timer misses;
+    private final Timer rejections;
+
+    public CachingJwtDecoder(ReactiveJwtDecoder delegate, JwtCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        Duration maximumTtl = properties.getMaximumTtl();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Jwt jwt, long currentTime) {
+                        return ttl(jwt, maximumTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Jwt jwt, long currentTime, long currentDuration) {
+                        return ttl(jwt, maximumTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "gateway.jwt");
+        this.hits = timer(meterRegistry, "hit");
+        this.misses = timer(meterRegistry, "miss");
+        this.rejections = timer(meterRegistry, "rejected");
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        Jwt cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            hits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Mono.just(cached);
+        }
+        return delegate.decode(token)
+                .doOnNext(jwt -> {
+                    verified.put(digest, jwt);
+                    misses.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                })
+                .doOnError(e -> rejections.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private static Duration ttl(Jwt jwt, Duration maximumTtl) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return maximumTtl;
+        }
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining.compareTo(maximumTtl) < 0 ? remaining : maximumTtl;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder(TIMER)
+                .description("Time to turn a bearer token into a verified JWT")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
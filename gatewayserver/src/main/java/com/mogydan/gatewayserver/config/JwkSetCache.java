@@ -0,0 +1,88 @@
+package com.mogydan.gatewayserver.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Signing keys of the issuer, fetched at startup and refreshed in the background so no request waits for the JWKS
+ * endpoint. A token signed with a key id that is not known yet, e.g. right after a key rotation, triggers a fetch.
+ */
+@Slf4j
+public class JwkSetCache implements Function<SignedJWT, Flux<JWK>>, DisposableBean {
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final long minimumRefetchNanos;
+    private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>(new JWKSet());
+    private final AtomicLong lastFetch;
+    private final Disposable refresh;
+
+    public JwkSetCache(WebClient webClient, String jwkSetUri, JwtCacheProperties properties) {
+        this.webClient = webClient;
+        this.jwkSetUri = jwkSetUri;
+        this.minimumRefetchNanos = properties.getJwksMinimumRefetchInterval().toNanos();
+        this.lastFetch = new AtomicLong(System.nanoTime() - minimumRefetchNanos);
+        this.refresh = Flux.interval(Duration.ZERO, properties.getJwksRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> fetch().onErrorResume(e -> {
+                    log.warn("Could not refresh the signing keys from {}, keeping the current ones", jwkSetUri, e);
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT signedJwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(signedJwt.getHeader()));
+        List<JWK> keys = selector.select(jwkSet.get());
+        if (!keys.isEmpty()) {
+            return Flux.fromIterable(keys);
+        }
+        long last = lastFetch.get();
+        if (System.nanoTime() - last < minimumRefetchNanos || !lastFetch.compareAndSet(last, System.nanoTime())) {
+            return Flux.empty();
+        }
+        return fetch().flatMapIterable(selector::select);
+    }
+
+    private Mono<JWKSet> fetch() {
+        return webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(JwkSetCache::parse)
+                .doOnNext(fetched -> {
+                    jwkSet.set(fetched);
+                    lastFetch.set(System.nanoTime());
+                });
+    }
+
+    private static JWKSet parse(String body) {
+        try {
+            return JWKSet.parse(body);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Malformed JWK set", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refresh.dispose();
+    }
+}
@@ -0,0 +1,31 @@
+package com.mogydan.gatewayserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "jwt-cache")
+public class JwtCacheProperties {
+
+    /**
+     * Most verified tokens kept at once; each entry also expires when its token does.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on how long a verified token is trusted without checking its signature again.
+     */
+    private Duration maximumTtl = Duration.ofMinutes(5);
+
+    /**
+     * How often the signing keys are fetched in the background; an unknown key id also triggers a fetch.
+     */
+    private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * Shortest time between two fetches triggered by unknown key ids, so forged headers cannot flood the issuer.
+     */
+    private Duration jwksMinimumRefetchInterval = Duration.ofSeconds(30);
+}
@@ -1,5 +1,7 @@
 package com.mogydan.gatewayserver.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -7,21 +9,36 @@ import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * Maps Keycloak realm roles to authorities. Results are kept per {@link Jwt} instance, which the caching decoder
+ * hands out again for a reused token, and released with it.
+ */
 public class KeycloakRoleConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Cache<Jwt, Collection<GrantedAuthority>> authorities = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
     @Override
     public Collection<GrantedAuthority> convert(Jwt source) {
-        Map<String, Object> realmAccess = (Map<String, Object>) source.getClaims().get("realm_access");
-        if (realmAccess == null || realmAccess.isEmpty()) {
-            return new ArrayList<>();
+        return authorities.get(source, KeycloakRoleConverter::extract);
+    }
+
+    private static Collection<GrantedAuthority> extract(Jwt source) {
+        if (!(source.getClaims().get("realm_access") instanceof Map<?, ?> realmAccess)
+                || !(realmAccess.get("roles") instanceof List<?> roles) || roles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            grantedAuthorities.add(new SimpleGrantedAuthority(ROLE_PREFIX.concat(String.valueOf(role))));
         }
-        return ((List<String>) realmAccess.get("roles"))
-                .stream().map(roleName -> "ROLE_" + roleName)
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        return Collections.unmodifiableList(grantedAuthorities);
     }
 }
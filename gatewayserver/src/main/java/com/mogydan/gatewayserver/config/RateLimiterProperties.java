@@ -0,0 +1,48 @@
+package com.mogydan.gatewayserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limiter")
+public class RateLimiterProperties {
+
+    /**
+     * redis keeps exact cluster-wide limits at the cost of a Redis round-trip per request; local decides in memory.
+     */
+    private Type type = Type.REDIS;
+
+    private int replenishRate = 1;
+
+    private int burstCapacity = 1;
+
+    private int requestedTokens = 1;
+
+    private Local local = new Local();
+
+    public enum Type {
+        REDIS, LOCAL
+    }
+
+    @Data
+    public static class Local {
+
+        /**
+         * Most keys with a bucket at once; the least recently used are dropped first.
+         */
+        private long maximumKeys = 100_000;
+
+        /**
+         * A key's bucket is dropped after this long without requests; a new one starts full.
+         */
+        private Duration idleTimeout = Duration.ofMinutes(10);
+
+        /**
+         * How often consumption is exchanged with Redis so each pod also charges what the others let through;
+         * 0 keeps the limits per pod.
+         */
+        private Duration syncInterval = Duration.ZERO;
+    }
+}
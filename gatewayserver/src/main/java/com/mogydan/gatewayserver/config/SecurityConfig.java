@@ -1,5 +1,8 @@
 package com.mogydan.gatewayserver.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -9,13 +12,17 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 @Configuration
 @EnableWebFluxSecurity
+@EnableConfigurationProperties(JwtCacheProperties.class)
 public class SecurityConfig {
 
     @Bean
@@ -30,6 +37,20 @@ public class SecurityConfig {
         return serverHttpSecurity.build();
     }
 
+    @Bean
+    JwkSetCache jwkSetCache(WebClient.Builder webClientBuilder, OAuth2ResourceServerProperties resourceServerProperties,
+                            JwtCacheProperties jwtCacheProperties) {
+        return new JwkSetCache(webClientBuilder.build(), resourceServerProperties.getJwt().getJwkSetUri(),
+                jwtCacheProperties);
+    }
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(JwkSetCache jwkSetCache, JwtCacheProperties jwtCacheProperties,
+                                         MeterRegistry meterRegistry) {
+        return new CachingJwtDecoder(NimbusReactiveJwtDecoder.withJwkSource(jwkSetCache).build(), jwtCacheProperties,
+                meterRegistry);
+    }
+
     private Converter<Jwt, Mono<AbstractAuthenticationToken>> grantedAuthoritiesExtractor() {
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
         jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(new KeycloakRoleConverter());
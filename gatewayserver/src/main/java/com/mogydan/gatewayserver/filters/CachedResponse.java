@@ -0,0 +1,26 @@
+package com.mogydan.gatewayserver.filters;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * A complete upstream response kept in memory, replayable onto any number of exchanges.
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, Duration ttl) {
+
+    public static CachedResponse of(ServerHttpResponse response, byte[] body, Duration ttl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        return new CachedResponse(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body, ttl);
+    }
+
+    public Mono<Void> writeTo(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        response.getHeaders().putAll(headers);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+}
@@ -4,11 +4,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 
 @Component
 public class FilterUtility {
 
     public static final String CORRELATION_ID = "mogydanbank-correlation-id";
+    public static final String ANONYMOUS = "anonymous";
 
     public String getCorrelationId(HttpHeaders requestHeaders) {
             return requestHeaders.getOrEmpty(CORRELATION_ID).stream().findFirst().orElse(null);
@@ -18,6 +20,14 @@ public class FilterUtility {
         return exchange.mutate().request(exchange.getRequest().mutate().header(name, value).build()).build();
     }
 
+    /**
+     * Identifies a read for caching and coalescing: the same principal asking for the same path and query.
+     */
+    public static String requestKey(ServerHttpRequest request, String principal) {
+        String query = request.getURI().getRawQuery();
+        return principal + ' ' + request.getURI().getRawPath() + (query != null ? '?' + query : "");
+    }
+
     public ServerWebExchange setCorrelationId(ServerWebExchange exchange, String correlationId) {
         return this.setRequestHeader(exchange, CORRELATION_ID, correlationId);
     }
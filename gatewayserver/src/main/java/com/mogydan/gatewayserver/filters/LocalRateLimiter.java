@@ -0,0 +1,194 @@
+package com.mogydan.gatewayserver.filters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mogydan.gatewayserver.config.RateLimiterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory alternative to the Redis rate limiter. Each key has a token bucket kept as a single theoretical arrival
+ * time that is advanced with compare-and-set, so concurrent requests never lock; buckets live in a bounded cache
+ * that drops idle keys. With a sync interval set, each pod periodically adds its consumption to a shared Redis
+ * counter and charges its buckets for what the other pods let through, which keeps cluster-wide limits roughly
+ * enforced without a Redis call on the request path.
+ */
+@Slf4j
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> implements DisposableBean {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String SYNC_KEY_PREFIX = "rate-limiter.";
+    private static final int SYNC_CONCURRENCY = 16;
+
+    private final Config defaultConfig;
+    private final Cache<String, Bucket> buckets;
+    private final Counter allowed;
+    private final Counter denied;
+    private final Disposable sync;
+
+    public LocalRateLimiter(RateLimiterProperties properties, ReactiveStringRedisTemplate redisTemplate,
+                            MeterRegistry meterRegistry, ConfigurationService configurationService) {
+        // The gateway's ConfigurationService binds per-route configuration when a FilterArgsEvent is published
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = new Config();
+        defaultConfig.setReplenishRate(properties.getReplenishRate());
+        defaultConfig.setBurstCapacity(properties.getBurstCapacity());
+        defaultConfig.setRequestedTokens(properties.getRequestedTokens());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getLocal().getMaximumKeys())
+                .expireAfterAccess(properties.getLocal().getIdleTimeout())
+                .build();
+        this.allowed = requests(meterRegistry, "allowed");
+        this.denied = requests(meterRegistry, "denied");
+        Gauge.builder("gateway.rate.limiter.keys", buckets, Cache::estimatedSize)
+                .description("Keys currently holding a local token bucket")
+                .register(meterRegistry);
+        Duration syncInterval = properties.getLocal().getSyncInterval();
+        this.sync = syncInterval.isZero() ? null : Flux.interval(syncInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sync(redisTemplate, syncInterval)
+                        .onErrorResume(e -> {
+                            log.debug("Rate limiter sync with Redis failed, keeping local limits", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.getReplenishRate();
+        Bucket bucket = buckets.get(routeId + ':' + id, key -> new Bucket(interval, interval * config.getBurstCapacity()));
+        long tolerance = bucket.tryAcquire(System.nanoTime(), interval * config.getRequestedTokens());
+        if (tolerance < 0) {
+            denied.increment();
+            return Mono.just(new Response(false, Map.of(REMAINING_HEADER, "0")));
+        }
+        bucket.consumed.addAndGet(config.getRequestedTokens());
+        allowed.increment();
+        return Mono.just(new Response(true, Map.of(REMAINING_HEADER, Long.toString(tolerance / interval))));
+    }
+
+    private Mono<Void> sync(ReactiveStringRedisTemplate redisTemplate, Duration syncInterval) {
+        long window = System.currentTimeMillis() / syncInterval.multipliedBy(10).toMillis();
+        Duration keyTtl = syncInterval.multipliedBy(20);
+        return Flux.fromIterable(buckets.asMap().entrySet())
+                .flatMap(entry -> {
+                    Bucket bucket = entry.getValue();
+                    long delta = bucket.consumed.getAndSet(0);
+                    if (delta == 0) {
+                        return Mono.empty();
+                    }
+                    bucket.startWindow(window);
+                    bucket.ownInWindow += delta;
+                    String key = SYNC_KEY_PREFIX + entry.getKey() + '.' + window;
+                    return redisTemplate.opsForValue().increment(key, delta)
+                            .flatMap(total -> redisTemplate.expire(key, keyTtl).thenReturn(total))
+                            .doOnNext(bucket::chargeOthers)
+                            .then();
+                }, SYNC_CONCURRENCY)
+                .then();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.rate.limiter.requests")
+                .description("Requests checked by the local rate limiter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        if (sync != null) {
+            sync.dispose();
+        }
+    }
+
+    /**
+     * Token bucket in GCRA form: tokens are not counted, the bucket remembers when it will next be full.
+     */
+    static final class Bucket {
+
+        private final long interval;
+        private final long capacity;
+        private final AtomicLong theoreticalArrival;
+        private final AtomicLong consumed = new AtomicLong();
+
+        // Touched by the sync loop only
+        private long window = -1;
+        private long ownInWindow;
+        private long othersSeen;
+
+        Bucket(long interval, long capacity) {
+            this.interval = interval;
+            this.capacity = capacity;
+            this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * @return nanoseconds of burst left after taking {@code cost}, or -1 when the request does not fit
+         */
+        long tryAcquire(long now, long cost) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + cost;
+                if (next - now > capacity) {
+                    return -1;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return capacity - (next - now);
+                }
+            }
+        }
+
+        void startWindow(long window) {
+            if (this.window != window) {
+                this.window = window;
+                this.ownInWindow = 0;
+                this.othersSeen = 0;
+            }
+        }
+
+        /**
+         * Charges the tokens other pods consumed since the last sync, but never beyond an empty bucket, so a burst
+         * elsewhere locks the key out for one refill at most.
+         */
+        void chargeOthers(long total) {
+            long others = total - ownInWindow;
+            if (others <= othersSeen) {
+                return;
+            }
+            long charge = (others - othersSeen) * interval;
+            othersSeen = others;
+            long now = System.nanoTime();
+            theoreticalArrival.updateAndGet(current -> Math.min(Math.max(current, now) + charge, now + capacity));
+        }
+    }
+
+    @Data
+    public static class Config {
+
+        private int replenishRate = 1;
+
+        private int burstCapacity = 1;
+
+        private int requestedTokens = 1;
+    }
+}
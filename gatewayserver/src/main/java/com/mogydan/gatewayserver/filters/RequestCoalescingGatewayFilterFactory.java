@@ -0,0 +1,127 @@
+package com.mogydan.gatewayserver.filters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Collapses identical GETs that arrive while one is already on its way upstream: the first request goes through,
+ * the others wait for its response and get a copy. Only a successful response is shared; otherwise the waiters go
+ * upstream themselves. Beyond {@code maxWaiters} requests are not held back but sent upstream directly. Opt-in per
+ * route, and best placed after the response cache so only misses are coalesced.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+        Counter leaders = requests(config, "leader");
+        Counter coalesced = requests(config, "coalesced");
+        Counter overflow = requests(config, "overflow");
+        Gauge.builder("gateway.requests.in.flight", inFlight, Map::size)
+                .description("Distinct GETs currently on their way upstream with others possibly waiting on them")
+                .tag("route", config.getName())
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            return exchange.getPrincipal()
+                    .map(Principal::getName)
+                    .defaultIfEmpty(FilterUtility.ANONYMOUS)
+                    .flatMap(principal -> {
+                        String key = FilterUtility.requestKey(exchange.getRequest(), principal);
+                        InFlight leader = new InFlight();
+                        InFlight existing = inFlight.putIfAbsent(key, leader);
+                        if (existing == null) {
+                            leaders.increment();
+                            return lead(exchange, chain, key, leader, inFlight);
+                        }
+                        if (existing.waiters.incrementAndGet() > config.getMaxWaiters()) {
+                            existing.waiters.decrementAndGet();
+                            overflow.increment();
+                            return chain.filter(exchange);
+                        }
+                        coalesced.increment();
+                        return existing.response.asMono()
+                                .flatMap(response -> response.isPresent()
+                                        ? response.get().writeTo(exchange.getResponse())
+                                        : chain.filter(exchange));
+                    });
+        };
+    }
+
+    private static Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, InFlight leader,
+                                   Map<String, InFlight> inFlight) {
+        AtomicReference<CachedResponse> captured = new AtomicReference<>();
+        ServerHttpResponse response = exchange.getResponse();
+        return chain.filter(exchange.mutate()
+                        .response(new BodyCaptureResponseDecorator(response, body -> {
+                            if (response.getStatusCode() == HttpStatus.OK && exchange.getAttribute(
+                                    ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) == null) {
+                                captured.set(CachedResponse.of(response, body, Duration.ZERO));
+                            }
+                        }))
+                        .build())
+                .doFinally(signal -> {
+                    // Removed first so a request arriving now starts a fresh call instead of reading a finished one
+                    inFlight.remove(key, leader);
+                    leader.response.tryEmitValue(Optional.ofNullable(captured.get()));
+                });
+    }
+
+    private Counter requests(Config config, String role) {
+        return Counter.builder("gateway.requests.coalescing")
+                .description("GETs seen by the coalescing filter, by whether they went upstream or waited")
+                .tag("route", config.getName())
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private static final class InFlight {
+
+        private final Sinks.One<Optional<CachedResponse>> response = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    @Data
+    public static class Config {
+
+        /**
+         * Names the route in metrics.
+         */
+        private String name = "default";
+
+        private int maxWaiters = 1_000;
+    }
+}
@@ -0,0 +1,196 @@
+package com.mogydan.gatewayserver.filters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps successful GET responses of the configured paths of a route in memory, keyed by principal, path and query,
+ * for the route's TTL or the upstream {@code max-age}, whichever is shorter. Responses marked {@code no-store} or
+ * {@code private} are not kept, and a request with {@code no-cache} always goes upstream. Every cached response
+ * carries an ETag, so a matching {@code If-None-Match} is answered with 304. A successful write through the route
+ * clears its entries. Hit and miss counts are published as {@code cache.gets} tagged with the cache name.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        String cacheName = "gateway.response." + config.getName();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+        Gauge.builder("gateway.response.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of cacheable gateway requests answered from memory")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+
+        List<PathPattern> paths = config.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        AtomicLong generation = new AtomicLong();
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange).doOnSuccess(done -> invalidateOnWrite(exchange, cache, generation));
+            }
+            if (paths.stream().noneMatch(path -> path.matches(request.getPath().pathWithinApplication()))
+                    || request.getHeaders().getCacheControl() != null
+                    && request.getHeaders().getCacheControl().contains("no-store")) {
+                return chain.filter(exchange);
+            }
+            long readGeneration = generation.get();
+            boolean revalidate = request.getHeaders().getCacheControl() != null
+                    && request.getHeaders().getCacheControl().contains("no-cache");
+            return exchange.getPrincipal()
+                    .map(Principal::getName)
+                    .defaultIfEmpty(FilterUtility.ANONYMOUS)
+                    .flatMap(principal -> {
+                        String key = FilterUtility.requestKey(request, principal);
+                        CachedResponse cached = revalidate ? null : cache.getIfPresent(key);
+                        if (cached != null) {
+                            return respond(exchange, cached);
+                        }
+                        return chain.filter(exchange.mutate()
+                                .response(new BodyCaptureResponseDecorator(exchange.getResponse(),
+                                        body -> {
+                                            // A write that completed while this read was upstream may have changed it
+                                            if (generation.get() == readGeneration) {
+                                                store(exchange, key, body, config, cache);
+                                            }
+                                        }))
+                                .build());
+                    });
+        };
+    }
+
+    /**
+     * A successful write may change any read of the route, e.g. an update behind {@code /api/fetch}, so the route's
+     * entries are dropped rather than guessing which keys it touched.
+     */
+    private static void invalidateOnWrite(ServerWebExchange exchange, Cache<String, CachedResponse> cache,
+                                          AtomicLong generation) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && status.is2xxSuccessful()) {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        String etag = cached.headers().getETag();
+        if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(etag);
+            return response.setComplete();
+        }
+        return cached.writeTo(response);
+    }
+
+    private static void store(ServerWebExchange exchange, String key, byte[] body, Config config,
+                              Cache<String, CachedResponse> cache) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.getStatusCode() != HttpStatus.OK
+                || exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null) {
+            return;
+        }
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"))) {
+            return;
+        }
+        if (headers.getETag() == null) {
+            headers.setETag('"' + DigestUtils.md5DigestAsHex(body) + '"');
+        }
+        Duration ttl = ttl(cacheControl, config.getTtl());
+        if (!ttl.isZero()) {
+            cache.put(key, CachedResponse.of(response, body, ttl));
+        }
+    }
+
+    private static Duration ttl(String cacheControl, Duration routeTtl) {
+        if (cacheControl == null) {
+            return routeTtl;
+        }
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        if (!matcher.find()) {
+            return routeTtl;
+        }
+        Duration maxAge = Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+        return maxAge.compareTo(routeTtl) < 0 ? maxAge : routeTtl;
+    }
+
+    @Data
+    public static class Config {
+
+        /**
+         * Names the cache in metrics; usually the route id.
+         */
+        private String name = "default";
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Paths, after any rewrite, whose GETs may be cached. Defaults to the informational endpoints; data reads
+         * such as {@code /api/fetch} are only cached when listed explicitly, ideally with a short TTL.
+         */
+        private List<String> paths = List.of("/api/contact-info", "/api/build-info", "/api/java-version");
+
+        private long maximumSize = 1_000;
+    }
+}
@@ -0,0 +1,92 @@
+package com.mogydan.gatewayserver.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every request from the moment the gateway sees it until the response is committed, split into the time
+ * spent waiting on the upstream service (marked by {@link UpstreamTimingFilter}) and the rest. Both are returned in
+ * a {@code Server-Timing} header and recorded per route; SLO buckets are configured under
+ * {@code management.metrics.distribution}.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+@RequiredArgsConstructor
+public class ResponseTimingFilter implements GlobalFilter {
+
+    static final String UPSTREAM_START_ATTR = ResponseTimingFilter.class.getName() + ".upstreamStart";
+
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String TIMER = "gateway.route.latency";
+    private static final String NO_ROUTE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteTimers> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        exchange.getResponse().beforeCommit(() -> {
+            long now = System.nanoTime();
+            Long upstreamStart = exchange.getAttribute(UPSTREAM_START_ATTR);
+            long total = now - start;
+            long upstream = upstreamStart != null ? now - upstreamStart : 0;
+            exchange.getResponse().getHeaders().set(SERVER_TIMING, serverTiming(total - upstream, upstream));
+            RouteTimers routeTimers = timers(exchange);
+            routeTimers.total().record(total, TimeUnit.NANOSECONDS);
+            if (upstreamStart != null) {
+                routeTimers.upstream().record(upstream, TimeUnit.NANOSECONDS);
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
+    }
+
+    private RouteTimers timers(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : NO_ROUTE;
+        return timers.computeIfAbsent(routeId, id -> new RouteTimers(timer(id, "total"), timer(id, "upstream")));
+    }
+
+    private Timer timer(String routeId, String stage) {
+        return Timer.builder(TIMER)
+                .description("Time from a request reaching the gateway until its response is committed")
+                .tag("route", routeId)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Renders {@code gw;dur=1.2, upstream;dur=35.4} with plain appends; durations are in milliseconds.
+     */
+    static String serverTiming(long gatewayNanos, long upstreamNanos) {
+        StringBuilder header = new StringBuilder(48).append("gw;dur=");
+        appendMillis(header, gatewayNanos);
+        if (upstreamNanos > 0) {
+            appendMillis(header.append(", upstream;dur="), upstreamNanos);
+        }
+        return header.toString();
+    }
+
+    private static void appendMillis(StringBuilder header, long nanos) {
+        long tenths = Math.max(0, nanos) / 100_000;
+        header.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    private record RouteTimers(Timer total, Timer upstream) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.mogydan.gatewayserver.filters;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks the moment the request is handed to the upstream service, right before the routing filter. A retried route
+ * passes here once per attempt, so only the last attempt counts as upstream time.
+ */
+@Order(NettyRoutingFilter.ORDER - 1)
+@Component
+public class UpstreamTimingFilter implements GlobalFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        exchange.getAttributes().put(ResponseTimingFilter.UPSTREAM_START_ATTR, System.nanoTime());
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,104 @@
+package com.mogydan.gatewayserver.filters;
+
+import com.mogydan.gatewayserver.config.RateLimiterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decisions per second of {@link LocalRateLimiter} against the gateway's RedisRateLimiter under contention, on one
+ * hot key and spread over many users. The redis variant needs a Redis on localhost:6379. Run from the IDE or with the
+ * test classpath: {@code java -cp <test classpath> com.mogydan.gatewayserver.filters.RateLimiterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final String ROUTE = "cards";
+
+    @Param({"local", "redis"})
+    public String limiter;
+
+    @Param({"1", "10000"})
+    public int keys;
+
+    private RateLimiter<?> rateLimiter;
+    private LocalRateLimiter localRateLimiter;
+    private LettuceConnectionFactory connectionFactory;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+        RateLimiterProperties properties = new RateLimiterProperties();
+        properties.setReplenishRate(1000);
+        properties.setBurstCapacity(2000);
+        if ("local".equals(limiter)) {
+            // No sync and no route arguments, so neither Redis nor a ConfigurationService is used
+            localRateLimiter = new LocalRateLimiter(properties, null, new SimpleMeterRegistry(), null);
+            rateLimiter = localRateLimiter;
+            return;
+        }
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        DefaultRedisScript script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(
+                new ClassPathResource("META-INF/scripts/request_rate_limiter.lua")));
+        script.setResultType(List.class);
+        RedisRateLimiter redisRateLimiter = new RedisRateLimiter(new ReactiveStringRedisTemplate(connectionFactory),
+                (RedisScript<List<Long>>) script, null);
+        redisRateLimiter.getConfig().put(ROUTE, new RedisRateLimiter.Config()
+                .setReplenishRate(properties.getReplenishRate())
+                .setBurstCapacity(properties.getBurstCapacity())
+                .setRequestedTokens(properties.getRequestedTokens()));
+        rateLimiter = redisRateLimiter;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (localRateLimiter != null) {
+            localRateLimiter.destroy();
+        }
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Benchmark
+    public boolean isAllowed() {
+        String user = "user-" + ThreadLocalRandom.current().nextInt(keys);
+        return rateLimiter.isAllowed(ROUTE, user).block().isAllowed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+package com.eazybytes.loans.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling and {@code @Async} work on virtual threads. Spring Boot 3.1 does not know the
+ * {@code spring.threads.virtual.enabled} property yet, so the same switch is wired up here by hand. Run with
+ * {@code -Djdk.tracePinnedThreads=short} to log every virtual thread that blocks while pinned to its carrier.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * H2 and the JDBC driver synchronize internally, so a virtual thread inside a JDBC call pins its carrier, while a
+     * thread waiting for a pooled connection parks without pinning. Keeping the pool below the carrier parallelism
+     * therefore leaves at least one carrier free for everything else, whatever maximum-pool-size says.
+     */
+    @Bean
+    public static BeanPostProcessor jdbcPinningGuard() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int limit = Math.max(1, carrierParallelism() - 1);
+                    if (dataSource.getMaximumPoolSize() > limit) {
+                        log.info("Limiting the connection pool {} from {} to {} connections below {} carrier threads",
+                                beanName, dataSource.getMaximumPoolSize(), limit, carrierParallelism());
+                        dataSource.setMaximumPoolSize(limit);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * @return the number of carrier threads of the virtual thread scheduler
+     */
+    static int carrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -16,6 +16,7 @@ public final class LoansConstants {
     public static final String  MESSAGE_417_UPDATE= "Update operation failed. Please try again or contact Dev team";
     public static final String  MESSAGE_417_DELETE= "Delete operation failed. Please try again or contact Dev team";
     public static final String CORRELATION_ID = "mogydanbank-correlation-id";
+    public static final String LOANS_CACHE = "loans";
     // public static final String  STATUS_500 = "500";
     // public static final String  MESSAGE_500 = "An error occurred. Please try again or contact Dev team";
 
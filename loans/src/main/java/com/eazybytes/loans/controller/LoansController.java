@@ -13,7 +13,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +26,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 import static com.eazybytes.loans.constants.LoansConstants.CORRELATION_ID;
 
 /**
@@ -92,6 +96,29 @@ public class LoansController {
         return ResponseEntity.status(HttpStatus.OK).body(loansDto);
     }
 
+    @Operation(summary = "Fetch Loan Details in batch REST API", description = "REST API to fetch loan details of several mobile numbers at once")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "HTTP Status Internal Server Error",
+                    content = @Content(
+                            schema = @Schema(implementation = ErrorResponseDto.class)
+                    )
+            )
+    })
+    @PostMapping("/fetch-batch")
+    public ResponseEntity<List<LoansDto>> fetchLoanDetailsBatch(@RequestHeader(CORRELATION_ID) String correlationId,
+                                                                @RequestBody
+                                                                @NotEmpty(message = "Mobile numbers can not be empty")
+                                                                @Size(max = 500, message = "At most 500 mobile numbers can be fetched at once")
+                                                                List<@Pattern(regexp = "(^$|[0-9]{10})", message = "Mobile number must be 10 digits") String> mobileNumbers) {
+        log.debug("fetchLoanDetailsBatch method start");
+        List<LoansDto> loansDtos = iLoansService.fetchLoans(mobileNumbers);
+        log.debug("fetchLoanDetailsBatch method end");
+        return ResponseEntity.status(HttpStatus.OK).body(loansDtos);
+    }
+
     @Operation(summary = "Update Loan Details REST API", description = "REST API to update loan details based on a loan number")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "HTTP Status OK"),
@@ -0,0 +1,4 @@
+package com.eazybytes.loans.dto;
+
+public record LoansMsgDto(String mobileNumber, String loanNumber) {
+}
@@ -2,9 +2,15 @@ package com.eazybytes.loans.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "loans")
+@NaturalIdCache(region = "loans-natural-id")
 @Getter
 @Setter
 @ToString
@@ -17,6 +23,7 @@ public class Loans extends BaseEntity {
     @GenericGenerator(name = "native")
     private Long loanId;
 
+    @NaturalId(mutable = true)
     private String mobileNumber;
 
     private String loanNumber;
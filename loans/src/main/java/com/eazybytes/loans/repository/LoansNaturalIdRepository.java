@@ -0,0 +1,15 @@
+package com.eazybytes.loans.repository;
+
+import com.eazybytes.loans.entity.Loans;
+
+import java.util.Optional;
+
+public interface LoansNaturalIdRepository {
+
+    /**
+     * Resolves through the natural id and entity cache regions before falling back to the database
+     * @param mobileNumber - Mobile Number of the Customer
+     */
+    Optional<Loans> findByMobileNumber(String mobileNumber);
+
+}
@@ -0,0 +1,24 @@
+package com.eazybytes.loans.repository;
+
+import com.eazybytes.loans.entity.Loans;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public class LoansNaturalIdRepositoryImpl implements LoansNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Loans> findByMobileNumber(String mobileNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Loans.class)
+                .loadOptional(mobileNumber);
+    }
+
+}
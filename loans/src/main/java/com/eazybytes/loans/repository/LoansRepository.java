@@ -4,12 +4,14 @@ import com.eazybytes.loans.entity.Loans;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LoansRepository extends JpaRepository<Loans, Long> {
+public interface LoansRepository extends JpaRepository<Loans, Long>, LoansNaturalIdRepository {
 
-    Optional<Loans> findByMobileNumber(String mobileNumber);
+    List<Loans> findByMobileNumberIn(Collection<String> mobileNumbers);
 
     Optional<Loans> findByLoanNumber(String loanNumber);
 
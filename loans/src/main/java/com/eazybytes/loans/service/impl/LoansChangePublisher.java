@@ -0,0 +1,36 @@
+package com.eazybytes.loans.service.impl;
+
+import com.eazybytes.loans.dto.LoansMsgDto;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes loans change events once the change is committed, off the request thread, so a slow or unreachable
+ * broker never holds up or fails a loan write. A lost event only means accounts serves its cached customer view
+ * until that entry expires.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class LoansChangePublisher {
+
+    private StreamBridge streamBridge;
+
+    /**
+     * @param loansMsgDto - changed loan reference
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(LoansMsgDto loansMsgDto) {
+        try {
+            boolean result = streamBridge.send("loansChanged-out-0", loansMsgDto);
+            log.debug("Is the loan change event for {} successfully triggered? : {}", loansMsgDto.mobileNumber(), result);
+        } catch (RuntimeException e) {
+            log.warn("The loan change event for {} could not be published", loansMsgDto.mobileNumber(), e);
+        }
+    }
+}
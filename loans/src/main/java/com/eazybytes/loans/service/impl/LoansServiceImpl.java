@@ -2,34 +2,57 @@ package com.eazybytes.loans.service.impl;
 
 import com.eazybytes.loans.constants.LoansConstants;
 import com.eazybytes.loans.dto.LoansDto;
+import com.eazybytes.loans.dto.LoansMsgDto;
 import com.eazybytes.loans.entity.Loans;
 import com.eazybytes.loans.exception.LoanAlreadyExistsException;
 import com.eazybytes.loans.exception.ResourceNotFoundException;
 import com.eazybytes.loans.mapper.LoansMapper;
 import com.eazybytes.loans.repository.LoansRepository;
+import com.eazybytes.loans.sequence.NumberAllocator;
 import com.eazybytes.loans.service.ILoansService;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Optional;
-import java.util.Random;
+import java.util.List;
+import java.util.Objects;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class LoansServiceImpl implements ILoansService {
 
+    private static final String MOBILE_NUMBER_KEY = "ux_loans_mobile_number";
+
     private LoansRepository loansRepository;
+    private ApplicationEventPublisher applicationEventPublisher;
+    private CacheManager cacheManager;
+    private NumberAllocator loanNumberAllocator;
 
     /**
      * @param mobileNumber - Mobile Number of the Customer
      */
     @Override
     public void createLoan(String mobileNumber) {
-        Optional<Loans> optionalLoans= loansRepository.findByMobileNumber(mobileNumber);
-        if(optionalLoans.isPresent()){
+        Loans savedLoan;
+        try {
+            savedLoan = loansRepository.saveAndFlush(createNewLoan(mobileNumber));
+        } catch (DataIntegrityViolationException e) {
+            if (!isViolationOf(e, MOBILE_NUMBER_KEY)) {
+                throw e;
+            }
             throw new LoanAlreadyExistsException("Loan already registered with given mobileNumber "+mobileNumber);
         }
-        loansRepository.save(createNewLoan(mobileNumber));
+        sendChangeEvent(savedLoan);
     }
 
     /**
@@ -38,8 +61,7 @@ public class LoansServiceImpl implements ILoansService {
      */
     private Loans createNewLoan(String mobileNumber) {
         Loans newLoan = new Loans();
-        long randomLoanNumber = 100000000000L + new Random().nextInt(900000000);
-        newLoan.setLoanNumber(Long.toString(randomLoanNumber));
+        newLoan.setLoanNumber(Long.toString(loanNumberAllocator.next()));
         newLoan.setMobileNumber(mobileNumber);
         newLoan.setLoanType(LoansConstants.HOME_LOAN);
         newLoan.setTotalLoan(LoansConstants.NEW_LOAN_LIMIT);
@@ -54,6 +76,7 @@ public class LoansServiceImpl implements ILoansService {
      * @return Loan Details based on a given mobileNumber
      */
     @Override
+    @Cacheable(cacheNames = LoansConstants.LOANS_CACHE, key = "#mobileNumber")
     public LoansDto fetchLoan(String mobileNumber) {
         Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
@@ -61,17 +84,37 @@ public class LoansServiceImpl implements ILoansService {
         return LoansMapper.mapToLoansDto(loans, new LoansDto());
     }
 
+    /**
+     *
+     * @param mobileNumbers - Input mobile Numbers
+     * @return Loan Details of every given mobileNumber that has a loan
+     */
+    @Override
+    public List<LoansDto> fetchLoans(List<String> mobileNumbers) {
+        return loansRepository.findByMobileNumberIn(mobileNumbers).stream()
+                .map(loans -> LoansMapper.mapToLoansDto(loans, new LoansDto()))
+                .toList();
+    }
+
     /**
      *
      * @param loansDto - LoansDto Object
      * @return boolean indicating if the update of loan details is successful or not
      */
     @Override
+    @Transactional
     public boolean updateLoan(LoansDto loansDto) {
         Loans loans = loansRepository.findByLoanNumber(loansDto.getLoanNumber()).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "LoanNumber", loansDto.getLoanNumber()));
+        String previousMobileNumber = loans.getMobileNumber();
         LoansMapper.mapToLoans(loansDto, loans);
         loansRepository.save(loans);
+        evictAfterCommit(previousMobileNumber);
+        if (!previousMobileNumber.equals(loans.getMobileNumber())) {
+            evictAfterCommit(loans.getMobileNumber());
+            sendChangeEvent(new LoansMsgDto(previousMobileNumber, loans.getLoanNumber()));
+        }
+        sendChangeEvent(loans);
         return  true;
     }
 
@@ -80,13 +123,55 @@ public class LoansServiceImpl implements ILoansService {
      * @return boolean indicating if the delete of loan details is successful or not
      */
     @Override
+    @Transactional
     public boolean deleteLoan(String mobileNumber) {
         Loans loans = loansRepository.findByMobileNumber(mobileNumber).orElseThrow(
                 () -> new ResourceNotFoundException("Loan", "mobileNumber", mobileNumber)
         );
         loansRepository.deleteById(loans.getLoanId());
+        evictAfterCommit(mobileNumber);
+        sendChangeEvent(loans);
         return true;
     }
 
+    /**
+     * Drops the cached loan once the write is committed, so a concurrent fetchLoan miss that cached the old row while
+     * the transaction was open is dropped with it; the next fetchLoan loads the committed row
+     * @param mobileNumber - mobile number the cache entry is keyed by
+     */
+    private void evictAfterCommit(String mobileNumber) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                loansCache().evict(mobileNumber);
+            }
+        });
+    }
+
+    /**
+     * @return the read-through cache behind fetchLoan, keyed by mobile number
+     */
+    private Cache loansCache() {
+        return Objects.requireNonNull(cacheManager.getCache(LoansConstants.LOANS_CACHE));
+    }
+
+    private static boolean isViolationOf(DataIntegrityViolationException e, String constraint) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(constraint);
+    }
+
+    private void sendChangeEvent(Loans loans) {
+        sendChangeEvent(new LoansMsgDto(loans.getMobileNumber(), loans.getLoanNumber()));
+    }
+
+    /**
+     * Lets the accounts service drop its cached customer view for the affected mobile number; published by
+     * {@link LoansChangePublisher} after commit
+     * @param loansMsgDto - changed loan reference
+     */
+    private void sendChangeEvent(LoansMsgDto loansMsgDto) {
+        applicationEventPublisher.publishEvent(loansMsgDto);
+    }
 
 }
@@ -11,4 +11,4 @@ CREATE TABLE IF NOT EXISTS `loans` (
   `updated_at` date DEFAULT NULL,
   `updated_by` varchar(20) DEFAULT NULL,
   PRIMARY KEY (`loan_id`)
-);
\ No newline at end of file
+);
@@ -0,0 +1,2 @@
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_loans_mobile_number` ON `loans` (`mobile_number`);
+CREATE UNIQUE INDEX IF NOT EXISTS `ux_loans_loan_number` ON `loans` (`loan_number`);
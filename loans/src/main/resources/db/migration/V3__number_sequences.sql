@@ -0,0 +1,2 @@
+-- Starts above the range the old random loan numbers were drawn from; INCREMENT BY is the allocator block size
+CREATE SEQUENCE IF NOT EXISTS loan_number_seq START WITH 10100000000 INCREMENT BY 100;
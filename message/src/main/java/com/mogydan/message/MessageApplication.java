@@ -1,9 +1,14 @@
 package com.mogydan.message;
 
+import com.mogydan.message.config.DedupProperties;
+import com.mogydan.message.config.DeliveryProperties;
+import com.mogydan.message.config.RetryProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties({DeliveryProperties.class, DedupProperties.class, RetryProperties.class})
 public class MessageApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,21 @@
+package com.mogydan.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "message.dedup")
+public class DedupProperties {
+
+    /**
+     * Most message keys each lane remembers at once; the oldest are forgotten first.
+     */
+    private int maximumSize = 100_000;
+
+    /**
+     * How long a delivered message key is remembered; should cover a rebalance plus redelivery.
+     */
+    private Duration window = Duration.ofMinutes(10);
+}
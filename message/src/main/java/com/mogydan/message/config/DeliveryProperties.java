@@ -0,0 +1,54 @@
+package com.mogydan.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "message.delivery")
+public class DeliveryProperties {
+
+    private Provider email = new Provider();
+
+    private Provider sms = new Provider();
+
+    @Data
+    public static class Provider {
+
+        /**
+         * Connections held open to the provider, i.e. deliveries running at the same time.
+         */
+        private int poolSize = 8;
+
+        /**
+         * Deliveries accepted but not yet completed; callers block beyond this, which backpressures the binding.
+         */
+        private int maxInFlight = 64;
+
+        /**
+         * Deliveries started per second; 0 disables the limit.
+         */
+        private double ratePerSecond = 0;
+
+        /**
+         * How long a lane waits for a delivery to complete before treating it as failed.
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+
+        /**
+         * Local stand-in only: base time one delivery takes.
+         */
+        private Duration latency = Duration.ofMillis(20);
+
+        /**
+         * Local stand-in only: random extra time added on top of the base latency.
+         */
+        private Duration latencyJitter = Duration.ofMillis(10);
+
+        /**
+         * Local stand-in only: share of deliveries that fail, between 0 and 1.
+         */
+        private double failureRate = 0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.mogydan.message.config;
+
+import com.mogydan.message.provider.DeliveryProvider;
+import com.mogydan.message.provider.LocalDeliveryProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the local stand-in behind each channel; a real integration only has to implement {@link DeliveryProvider}.
+ */
+@Configuration
+public class DeliveryProviderConfig {
+
+    @Bean
+    public DeliveryProvider emailDeliveryProvider(DeliveryProperties deliveryProperties) {
+        return new LocalDeliveryProvider("email", deliveryProperties.getEmail());
+    }
+
+    @Bean
+    public DeliveryProvider smsDeliveryProvider(DeliveryProperties deliveryProperties) {
+        return new LocalDeliveryProvider("sms", deliveryProperties.getSms());
+    }
+}
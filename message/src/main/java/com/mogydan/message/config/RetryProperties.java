@@ -0,0 +1,72 @@
+package com.mogydan.message.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "message.retry")
+public class RetryProperties {
+
+    /**
+     * Topic failed deliveries of both lanes are parked on once their retries are used up.
+     */
+    private String dlqDestination = "send-communication.dlq";
+
+    private Policy email = new Policy(5, List.of(
+            new Tier("send-communication.email.retry-5s", Duration.ofSeconds(5)),
+            new Tier("send-communication.email.retry-30s", Duration.ofSeconds(30)),
+            new Tier("send-communication.email.retry-1m", Duration.ofMinutes(1))));
+
+    private Policy sms = new Policy(3, List.of(
+            new Tier("send-communication.sms.retry-1s", Duration.ofSeconds(1)),
+            new Tier("send-communication.sms.retry-5s", Duration.ofSeconds(5))));
+
+    @Data
+    public static class Policy {
+
+        /**
+         * Retries after the first delivery attempt before the message is dead-lettered.
+         */
+        private int maxAttempts;
+
+        /**
+         * Retry topics by attempt number; attempts past the last tier stay on it. Each tier needs its own consumer
+         * binding of the lane, see spring.cloud.stream.bindings.
+         */
+        private List<Tier> tiers;
+
+        public Policy() {
+        }
+
+        Policy(int maxAttempts, List<Tier> tiers) {
+            this.maxAttempts = maxAttempts;
+            this.tiers = tiers;
+        }
+    }
+
+    @Data
+    public static class Tier {
+
+        /**
+         * Topic failed deliveries are republished to; only the tier consumer of the lane waits on it.
+         */
+        private String destination;
+
+        /**
+         * Fixed delay of every message on this topic. Together with the delivery timeout and max.poll.records of the
+         * tier binding it has to fit into max.poll.interval.ms.
+         */
+        private Duration delay;
+
+        public Tier() {
+        }
+
+        Tier(String destination, Duration delay) {
+            this.destination = destination;
+            this.delay = delay;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mogydan.message.functions;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Remembers the keys of recently processed messages for a time window, bounded in size so memory stays constant
+ * whatever the traffic. It catches broker redeliveries within one instance; it is not a guarantee across restarts.
+ */
+final class DedupStore {
+
+    private final Cache<String, Boolean> processed;
+    private final Counter dropped;
+
+    DedupStore(String consumer, int maximumSize, Duration window, MeterRegistry meterRegistry) {
+        this.processed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+        this.dropped = Counter.builder("messages.duplicates.dropped")
+                .description("Redelivered messages skipped before any I/O")
+                .tag("consumer", consumer)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts the key as a dropped duplicate when it was already processed.
+     */
+    boolean isDuplicate(String key) {
+        if (processed.getIfPresent(key) == null) {
+            return false;
+        }
+        dropped.increment();
+        return true;
+    }
+
+    /**
+     * Called only after the message was processed successfully, so that a retried failure is not dropped.
+     */
+    void remember(String key) {
+        processed.put(key, Boolean.TRUE);
+    }
+
+    static String key(Object accountNumber, Object messageId) {
+        return accountNumber + "/" + (messageId instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : messageId);
+    }
+}
@@ -1,29 +1,154 @@
 package com.mogydan.message.functions;
 
+import com.mogydan.message.config.DedupProperties;
+import com.mogydan.message.config.DeliveryProperties;
+import com.mogydan.message.config.RetryProperties;
 import com.mogydan.message.dto.AccountsMsgDto;
+import com.mogydan.message.provider.DeliveryProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Configuration
 public class MessageFunctions {
 
     @Bean
-    public Function<AccountsMsgDto, AccountsMsgDto> email() {
-        return accountsMsgDto -> {
-          log.info("Sending email with the details: " + accountsMsgDto.toString());
-          return accountsMsgDto;
+    MessageLane emailLane(@Qualifier("emailDeliveryProvider") DeliveryProvider emailDeliveryProvider,
+                          DeliveryProperties deliveryProperties, DedupProperties dedupProperties,
+                          RetryProperties retryProperties, StreamBridge streamBridge, MeterRegistry meterRegistry) {
+        return lane(emailDeliveryProvider, deliveryProperties.getEmail(), retryProperties.getEmail(), dedupProperties,
+                retryProperties, streamBridge, meterRegistry);
+    }
+
+    @Bean
+    MessageLane smsLane(@Qualifier("smsDeliveryProvider") DeliveryProvider smsDeliveryProvider,
+                        DeliveryProperties deliveryProperties, DedupProperties dedupProperties,
+                        RetryProperties retryProperties, StreamBridge streamBridge, MeterRegistry meterRegistry) {
+        return lane(smsDeliveryProvider, deliveryProperties.getSms(), retryProperties.getSms(), dedupProperties,
+                retryProperties, streamBridge, meterRegistry);
+    }
+
+    /**
+     * Email lane, bound on its own consumer group so a slow email provider never holds back sms delivery.
+     */
+    @Bean
+    public Consumer<Message<AccountsMsgDto>> email(@Qualifier("emailLane") MessageLane emailLane) {
+        return message -> {
+            log.debug("Sending email with the details: {}", message.getPayload());
+            if (!emailLane.process(message)) {
+                log.debug("Email for the account number {} was not delivered now", message.getPayload().accountNumber());
+            }
         };
     }
 
+    /**
+     * Read the email retry tiers on the email consumer group, one binding per tier so a short retry never waits
+     * behind a long one; each message is held until it is due.
+     */
+    @Bean
+    public Consumer<Message<AccountsMsgDto>> emailRetry5s(@Qualifier("emailLane") MessageLane emailLane) {
+        return emailRetry(emailLane);
+    }
+
     @Bean
-    public Function<AccountsMsgDto, Long> sms() {
-        return accountsMsgDto -> {
-            log.info("Sending sms with the details: " + accountsMsgDto.toString());
-            return accountsMsgDto.accountNumber();
+    public Consumer<Message<AccountsMsgDto>> emailRetry30s(@Qualifier("emailLane") MessageLane emailLane) {
+        return emailRetry(emailLane);
+    }
+
+    @Bean
+    public Consumer<Message<AccountsMsgDto>> emailRetry1m(@Qualifier("emailLane") MessageLane emailLane) {
+        return emailRetry(emailLane);
+    }
+
+    /**
+     * Sms lane, the only one that acknowledges the communication on communication-sent.
+     */
+    @Bean
+    public Function<Message<AccountsMsgDto>, Message<Long>> sms(@Qualifier("smsLane") MessageLane smsLane) {
+        return message -> {
+            log.debug("Sending sms with the details: {}", message.getPayload());
+            // Returning null publishes nothing: a duplicate was acknowledged with its first delivery and a failure
+            // is acknowledged by the retry lane once it succeeds
+            return smsLane.process(message) ? acknowledgement(message) : null;
         };
     }
+
+    @Bean
+    public Function<Message<AccountsMsgDto>, Message<Long>> smsRetry1s(@Qualifier("smsLane") MessageLane smsLane) {
+        return smsRetry(smsLane);
+    }
+
+    @Bean
+    public Function<Message<AccountsMsgDto>, Message<Long>> smsRetry5s(@Qualifier("smsLane") MessageLane smsLane) {
+        return smsRetry(smsLane);
+    }
+
+    /**
+     * Feeds dead-lettered messages back to the first retry tier of the lane they failed on. The binding does not
+     * start with the application; start it through the bindings actuator endpoint once the provider has recovered.
+     */
+    @Bean
+    public Consumer<Message<AccountsMsgDto>> replaySendCommunicationDlq(List<MessageLane> lanes) {
+        Map<String, MessageLane> lanesByChannel = lanes.stream()
+                .collect(Collectors.toMap(MessageLane::channel, Function.identity()));
+        return message -> {
+            String origin = RetryRouter.stringHeader(message.getHeaders(), RetryRouter.ORIGIN_HEADER);
+            MessageLane lane = lanesByChannel.get(origin);
+            if (lane == null) {
+                log.warn("Skipped a dead-lettered message for the account number {} from the unknown lane {}",
+                        message.getPayload().accountNumber(), origin);
+                return;
+            }
+            lane.replay(message);
+        };
+    }
+
+    private static Consumer<Message<AccountsMsgDto>> emailRetry(MessageLane emailLane) {
+        return message -> {
+            log.debug("Retrying email with the details: {}", message.getPayload());
+            emailLane.processRetry(message);
+        };
+    }
+
+    private static Function<Message<AccountsMsgDto>, Message<Long>> smsRetry(MessageLane smsLane) {
+        return message -> {
+            log.debug("Retrying sms with the details: {}", message.getPayload());
+            return smsLane.processRetry(message) ? acknowledgement(message) : null;
+        };
+    }
+
+    private static Message<Long> acknowledgement(Message<AccountsMsgDto> message) {
+        Long accountNumber = message.getPayload().accountNumber();
+        return MessageBuilder.withPayload(accountNumber)
+                .setHeader(KafkaHeaders.KEY, String.valueOf(accountNumber).getBytes(StandardCharsets.UTF_8))
+                .setHeader(MessageLane.COMMUNICATION_ID_HEADER, message.getHeaders().get(MessageLane.COMMUNICATION_ID_HEADER))
+                .build();
+    }
+
+    private static MessageLane lane(DeliveryProvider provider, DeliveryProperties.Provider delivery,
+                                    RetryProperties.Policy policy, DedupProperties dedupProperties,
+                                    RetryProperties retryProperties, StreamBridge streamBridge,
+                                    MeterRegistry meterRegistry) {
+        List<RetryRouter.Tier> tiers = policy.getTiers().stream()
+                .map(tier -> new RetryRouter.Tier(tier.getDestination(), tier.getDelay()))
+                .toList();
+        RetryRouter retryRouter = new RetryRouter(provider.channel(), tiers, retryProperties.getDlqDestination(),
+                policy.getMaxAttempts(), List.of(MessageLane.COMMUNICATION_ID_HEADER),
+                payload -> ((AccountsMsgDto) payload).accountNumber(), streamBridge, meterRegistry);
+        return new MessageLane(provider, delivery.getTimeout(), dedupProperties, retryRouter, meterRegistry);
+    }
 }
@@ -0,0 +1,135 @@
+package com.mogydan.message.functions;
+
+import com.mogydan.message.config.DedupProperties;
+import com.mogydan.message.dto.AccountsMsgDto;
+import com.mogydan.message.provider.DeliveryException;
+import com.mogydan.message.provider.DeliveryProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Times one delivery channel: how long a message waited on the topic before the lane picked it up, and how long
+ * the provider took to deliver it. Consumer lag per lane comes from the binder's offset gauge, tagged by group.
+ * Redeliveries of a message the lane already delivered are dropped before the provider is called, and failed
+ * deliveries are handed to the {@link RetryRouter} so the lane keeps consuming instead of backing off in place.
+ */
+final class MessageLane {
+
+    static final String COMMUNICATION_ID_HEADER = "communication-id";
+
+    private final DeliveryProvider provider;
+    private final DedupStore dedupStore;
+    private final RetryRouter retryRouter;
+    private final Duration timeout;
+    private final Timer delay;
+    private final Timer latency;
+    private final Counter failures;
+
+    MessageLane(DeliveryProvider provider, Duration timeout, DedupProperties dedupProperties, RetryRouter retryRouter,
+                MeterRegistry meterRegistry) {
+        this.provider = provider;
+        this.dedupStore = new DedupStore(provider.channel(), dedupProperties.getMaximumSize(),
+                dedupProperties.getWindow(), meterRegistry);
+        this.retryRouter = retryRouter;
+        this.timeout = timeout;
+        this.delay = Timer.builder("message.lane.delay")
+                .description("Time between a communication request being published and its lane picking it up")
+                .tag("lane", provider.channel())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.latency = Timer.builder("message.lane.latency")
+                .description("Time the provider of a lane took to deliver one communication request")
+                .tag("lane", provider.channel())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failures = Counter.builder("message.lane.failures")
+                .description("Delivery attempts that failed or timed out; they are routed to a retry tier")
+                .tag("lane", provider.channel())
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true when the message was delivered, false when it was a duplicate or was handed to a retry tier
+     */
+    boolean process(Message<AccountsMsgDto> message) {
+        try {
+            return deliver(message);
+        } catch (DeliveryException e) {
+            retryRouter.route(message.getPayload(), message.getHeaders(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Same as {@link #process} for a message read from a retry tier, once it is due.
+     */
+    boolean processRetry(Message<AccountsMsgDto> message) {
+        retryRouter.awaitDue(message.getHeaders());
+        return process(message);
+    }
+
+    /**
+     * Puts a dead-lettered message back on the first retry tier of this lane.
+     */
+    void replay(Message<AccountsMsgDto> message) {
+        retryRouter.replay(message.getPayload(), message.getHeaders());
+    }
+
+    String channel() {
+        return provider.channel();
+    }
+
+    /**
+     * Blocks until the provider completed, so that a failure surfaces as a {@link DeliveryException}.
+     * @return false when the message is a redelivery of one this lane already delivered
+     */
+    private boolean deliver(Message<AccountsMsgDto> message) {
+        String key = DedupStore.key(message.getPayload().accountNumber(), messageId(message.getHeaders()));
+        if (dedupStore.isDuplicate(key)) {
+            return false;
+        }
+        Long publishedAt = message.getHeaders().get(KafkaHeaders.RECEIVED_TIMESTAMP, Long.class);
+        if (publishedAt != null) {
+            delay.record(Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+        }
+        long start = System.nanoTime();
+        try {
+            provider.deliver(message.getPayload()).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            failures.increment();
+            throw e.getCause() instanceof DeliveryException deliveryException
+                    ? deliveryException
+                    : new DeliveryException("The " + provider.channel() + " delivery failed", e.getCause());
+        } catch (TimeoutException e) {
+            failures.increment();
+            throw new DeliveryException("The " + provider.channel() + " delivery did not complete within " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException("Interrupted waiting for the " + provider.channel() + " delivery", e);
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        dedupStore.remember(key);
+        return true;
+    }
+
+    /**
+     * The communication id set by the accounts outbox relay, or the record position for messages without one.
+     */
+    private static Object messageId(MessageHeaders headers) {
+        Object communicationId = headers.get(COMMUNICATION_ID_HEADER);
+        if (communicationId != null) {
+            return communicationId;
+        }
+        return headers.get(KafkaHeaders.RECEIVED_PARTITION) + "@" + headers.get(KafkaHeaders.OFFSET);
+    }
+}
@@ -0,0 +1,12 @@
+package com.mogydan.message.provider;
+
+public class DeliveryException extends RuntimeException {
+
+    public DeliveryException(String message) {
+        super(message);
+    }
+
+    public DeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,20 @@
+package com.mogydan.message.provider;
+
+import com.mogydan.message.dto.AccountsMsgDto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Channel that hands a communication request to an external email or sms provider.
+ */
+public interface DeliveryProvider {
+
+    String channel();
+
+    /**
+     * May block while the provider is saturated, so that callers slow down instead of queueing without bound.
+     * @param accountsMsgDto - communication request to deliver
+     * @return completes when the provider accepted the message, or exceptionally with a {@link DeliveryException}
+     */
+    CompletableFuture<Void> deliver(AccountsMsgDto accountsMsgDto);
+}
@@ -0,0 +1,107 @@
+package com.mogydan.message.provider;
+
+import com.mogydan.message.config.DeliveryProperties;
+import com.mogydan.message.dto.AccountsMsgDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for a real provider. It behaves like one towards its callers: it has a fixed pool of
+ * connections, a cap on deliveries in flight and a start rate limit. Each delivery takes the configured latency
+ * plus jitter and fails with the configured probability, which makes the message pipeline load-testable on a
+ * single machine.
+ */
+@Slf4j
+public class LocalDeliveryProvider implements DeliveryProvider, DisposableBean {
+
+    private final String channel;
+    private final DeliveryProperties.Provider settings;
+    private final ExecutorService connections;
+    private final Semaphore inFlight;
+    private final long intervalNanos;
+    private final AtomicLong nextStart = new AtomicLong(Long.MIN_VALUE);
+
+    public LocalDeliveryProvider(String channel, DeliveryProperties.Provider settings) {
+        this.channel = channel;
+        this.settings = settings;
+        this.connections = Executors.newFixedThreadPool(settings.getPoolSize(),
+                new CustomizableThreadFactory(channel + "-provider-"));
+        this.inFlight = new Semaphore(settings.getMaxInFlight());
+        this.intervalNanos = settings.getRatePerSecond() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) / settings.getRatePerSecond())
+                : 0;
+    }
+
+    @Override
+    public String channel() {
+        return channel;
+    }
+
+    @Override
+    public CompletableFuture<Void> deliver(AccountsMsgDto accountsMsgDto) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new DeliveryException("Interrupted waiting for a " + channel + " slot", e));
+        }
+        CompletableFuture<Void> delivery;
+        try {
+            delivery = CompletableFuture.runAsync(() -> send(accountsMsgDto), connections);
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(new DeliveryException("The " + channel + " provider is shut down", e));
+        }
+        return delivery.whenComplete((ignored, failure) -> inFlight.release());
+    }
+
+    private void send(AccountsMsgDto accountsMsgDto) {
+        awaitStartSlot();
+        long jitter = settings.getLatencyJitter().toNanos();
+        sleepNanos(settings.getLatency().toNanos() + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter) : 0));
+        if (settings.getFailureRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getFailureRate()) {
+            throw new DeliveryException("The " + channel + " provider rejected the message for account "
+                    + accountsMsgDto.accountNumber());
+        }
+        log.debug("Delivered {} for the account number: {}", channel, accountsMsgDto.accountNumber());
+    }
+
+    /**
+     * Hands out start times {@code intervalNanos} apart and waits for the one reserved, without a lock.
+     */
+    private void awaitStartSlot() {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long previous = nextStart.getAndAccumulate(now, (reserved, current) -> Math.max(reserved, current) + intervalNanos);
+        sleepNanos(Math.max(previous, now) - now);
+    }
+
+    private void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeliveryException("Interrupted while delivering " + channel, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        connections.shutdown();
+    }
+}
@@ -0,0 +1,115 @@
+package com.mogydan.message.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mogydan.message.dto.AccountsMsgDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.converter.MessageConversionException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountsMsgBinaryConverterTests {
+
+    private static final AccountsMsgDto MESSAGE =
+            new AccountsMsgDto(1900000007L, "Madan Reddy", "tutor@eazybytes.com", "4354437687");
+
+    @Test
+    void roundTripsEveryField() {
+        assertThat(roundTrip(MESSAGE)).isEqualTo(MESSAGE);
+    }
+
+    @Test
+    void roundTripsMissingFields() {
+        assertThat(roundTrip(new AccountsMsgDto(null, null, null, null)))
+                .isEqualTo(new AccountsMsgDto(null, null, null, null));
+        assertThat(roundTrip(new AccountsMsgDto(null, "Madan Reddy", null, "4354437687")))
+                .isEqualTo(new AccountsMsgDto(null, "Madan Reddy", null, "4354437687"));
+        assertThat(roundTrip(new AccountsMsgDto(1900000007L, null, "", null)))
+                .isEqualTo(new AccountsMsgDto(1900000007L, null, "", null));
+    }
+
+    @Test
+    void roundTripsNegativeAndExtremeAccountNumbers() {
+        for (long accountNumber : new long[]{0, -1, 1, Integer.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            AccountsMsgDto message = new AccountsMsgDto(accountNumber, null, null, null);
+            assertThat(roundTrip(message)).isEqualTo(message);
+        }
+    }
+
+    @Test
+    void roundTripsMultiByteCharacters() {
+        AccountsMsgDto message = new AccountsMsgDto(1L, "Zo\u00eb \u00c5lvarez \u5c71\u7530", "zo\u00eb@example.com", "+49 30 1234");
+        assertThat(roundTrip(message)).isEqualTo(message);
+    }
+
+    @Test
+    void isMoreCompactThanJson() throws Exception {
+        byte[] json = new ObjectMapper().writeValueAsBytes(MESSAGE);
+        byte[] binary = AccountsMsgBinaryConverter.encode(MESSAGE);
+        // 50 bytes against 107 for this message: field names, quotes and the decimal account number dominate JSON
+        assertThat(binary.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void rejectsEveryTruncation() {
+        byte[] encoded = AccountsMsgBinaryConverter.encode(MESSAGE);
+        for (int length = 0; length < encoded.length; length++) {
+            byte[] truncated = Arrays.copyOf(encoded, length);
+            assertThatThrownBy(() -> AccountsMsgBinaryConverter.decode(truncated))
+                    .as("prefix of %d bytes", length)
+                    .isInstanceOf(MessageConversionException.class);
+        }
+    }
+
+    @Test
+    void rejectsVersionZero() {
+        byte[] encoded = AccountsMsgBinaryConverter.encode(MESSAGE);
+        encoded[0] = 0;
+        assertThatThrownBy(() -> AccountsMsgBinaryConverter.decode(encoded))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void readsKnownFieldsOfANewerVersion() {
+        byte[] encoded = AccountsMsgBinaryConverter.encode(MESSAGE);
+        ByteArrayOutputStream newer = new ByteArrayOutputStream();
+        newer.write(2);
+        // All four known fields plus a fifth one appended by the newer writer
+        newer.write(0x1F);
+        newer.write(encoded, 2, encoded.length - 2);
+        newer.write(3);
+        newer.writeBytes("new".getBytes());
+        assertThat(AccountsMsgBinaryConverter.decode(newer.toByteArray())).isEqualTo(MESSAGE);
+    }
+
+    @Test
+    void readsPresenceBeyondTheFirstByte() {
+        // Presence bit 7 only, a two byte varint; none of the known fields is present
+        byte[] encoded = {1, (byte) 0x80, 0x01};
+        assertThat(AccountsMsgBinaryConverter.decode(encoded)).isEqualTo(new AccountsMsgDto(null, null, null, null));
+    }
+
+    @Test
+    void rejectsStringLengthsPastTheEnd() {
+        byte[] encoded = {1, 0x02, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 'a'};
+        assertThatThrownBy(() -> AccountsMsgBinaryConverter.decode(encoded))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    @Test
+    void rejectsOverlongVarints() {
+        byte[] encoded = new byte[12];
+        Arrays.fill(encoded, (byte) 0x80);
+        encoded[0] = 1;
+        encoded[1] = 0x01;
+        assertThatThrownBy(() -> AccountsMsgBinaryConverter.decode(encoded))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    private static AccountsMsgDto roundTrip(AccountsMsgDto message) {
+        return AccountsMsgBinaryConverter.decode(AccountsMsgBinaryConverter.encode(message));
+    }
+}